@@ -0,0 +1,35 @@
+package io.github.jhipster.sample.aop.workload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or all the methods of the annotated class, as the given workload: the connections they fetch
+ * come from the pool of that workload, so that a report or a batch job can never starve the interactive requests.
+ * <p>
+ * A workload without a pool of its own in {@code application.connection-pools.workloads} uses the {@link #OLTP} pool.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+    /**
+     * The interactive requests, using the pool configured with the {@code spring.datasource.hikari} properties.
+     */
+    String OLTP = "oltp";
+
+    /**
+     * The reports and exports, reading many rows.
+     */
+    String REPORTING = "reporting";
+
+    /**
+     * The scheduled jobs and bulk writes.
+     */
+    String BATCH = "batch";
+
+    String value();
+}
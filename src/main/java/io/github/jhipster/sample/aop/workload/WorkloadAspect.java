@@ -0,0 +1,41 @@
+package io.github.jhipster.sample.aop.workload;
+
+import java.lang.reflect.Method;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect running the methods annotated with {@link Workload} as their workload.
+ * <p>
+ * It runs before the transaction advice, so that the connection of the transaction already comes from the pool of the
+ * workload.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    @Around(
+        "@annotation(io.github.jhipster.sample.aop.workload.Workload) || @within(io.github.jhipster.sample.aop.workload.Workload)"
+    )
+    public Object runAsWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), Workload.class);
+        }
+        WorkloadContext.Scope previous = WorkloadContext.enter(
+            workload.value(),
+            joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + method.getName()
+        );
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.jhipster.sample.aop.workload;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the {@link Workload} run by the current thread.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    /**
+     * Get the workload run by the current thread.
+     *
+     * @return the workload and the method which started it, or {@code null} outside of any workload.
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a task as the given workload, typically on a thread of an executor, which does not inherit the workload of the
+     * thread which submitted the task.
+     *
+     * @param workload the workload, see {@link Workload}.
+     * @param origin what started the workload, reported with the connections it holds for too long.
+     * @param task the task to run.
+     * @return the result of the task.
+     */
+    public static <T> T call(String workload, String origin, Supplier<T> task) {
+        Scope previous = enter(workload, origin);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static Scope enter(String workload, String origin) {
+        Scope previous = CURRENT.get();
+        CURRENT.set(new Scope(workload, origin));
+        return previous;
+    }
+
+    static void restore(Scope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * A workload, and what started it.
+     */
+    public record Scope(String workload, String origin) {}
+}
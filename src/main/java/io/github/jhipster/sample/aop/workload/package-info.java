@@ -0,0 +1,4 @@
+/**
+ * Workload aspect, selecting the connection pool of the annotated methods.
+ */
+package io.github.jhipster.sample.aop.workload;
@@ -0,0 +1,143 @@
+package io.github.jhipster.sample.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * {@link ThreadPoolTaskExecutor} sized by the latency of its queue, and publishing its metrics.
+ * <p>
+ * A plain {@link ThreadPoolExecutor} only starts threads beyond its core size once its queue is full. This executor rather
+ * adds a core thread whenever the oldest queued task has waited longer than the target queue latency, up to the maximum
+ * size, and removes one when tasks start without waiting while a thread is idle, down to the minimum size.
+ * <p>
+ * Besides the gauges of {@link ExecutorServiceMetrics}, tagged with the executor's bean name, it records the time tasks
+ * wait in the queue ({@code executor.idle}), the time they run ({@code executor}) and the rejected tasks
+ * ({@code executor.rejected}).
+ */
+public class AdaptiveTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveTaskExecutor.class);
+
+    private static final long RESIZE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final String name;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long targetQueueLatencyNanos;
+
+    private final boolean callerRunsWhenSaturated;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer waitTimer;
+
+    private final Timer runTimer;
+
+    private final Counter rejectedCounter;
+
+    private final AtomicLong lastResizeNanos = new AtomicLong(System.nanoTime());
+
+    public AdaptiveTaskExecutor(String name, ApplicationProperties.ExecutorPool pool, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minSize = pool.getMinSize();
+        this.maxSize = pool.getMaxSize();
+        this.targetQueueLatencyNanos = pool.getTargetQueueLatency().toNanos();
+        this.callerRunsWhenSaturated = pool.isCallerRunsWhenSaturated();
+        this.meterRegistry = meterRegistry;
+        Tags tags = Tags.of("name", name);
+        this.waitTimer = Timer.builder("executor.idle").description("Time tasks wait in the queue").tags(tags).register(meterRegistry);
+        this.runTimer = Timer.builder("executor").description("Time tasks run").tags(tags).register(meterRegistry);
+        this.rejectedCounter = Counter.builder("executor.rejected")
+            .description("Tasks rejected because the executor is saturated")
+            .tags(tags)
+            .register(meterRegistry);
+        setCorePoolSize(minSize);
+        setMaxPoolSize(maxSize);
+        setQueueCapacity(pool.getQueueCapacity());
+        setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        setAllowCoreThreadTimeOut(true);
+        // the tasks read from the database the thread which submitted them would read from
+        setTaskDecorator(task -> new InstrumentedTask(PrimaryReads.decorate(task)));
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        RejectedExecutionHandler policy = callerRunsWhenSaturated
+            ? new ThreadPoolExecutor.CallerRunsPolicy()
+            : new ThreadPoolExecutor.AbortPolicy();
+        ExecutorService executor = super.initializeExecutor(threadFactory, (task, pool) -> {
+            rejectedCounter.increment();
+            policy.rejectedExecution(task, pool);
+        });
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Adjust the core size to the latency of the queue, at most once per resize interval.
+     *
+     * @param queueLatencyNanos how long the oldest task waited, or is waiting, in the queue.
+     * @param queueEmpty whether no other task is waiting.
+     */
+    private void resize(long queueLatencyNanos, boolean queueEmpty) {
+        long now = System.nanoTime();
+        long last = lastResizeNanos.get();
+        if (now - last < RESIZE_INTERVAL_NANOS || !lastResizeNanos.compareAndSet(last, now)) {
+            return;
+        }
+        int coreSize = getCorePoolSize();
+        if (queueLatencyNanos > targetQueueLatencyNanos && coreSize < maxSize) {
+            LOG.debug("Growing executor '{}' to {} threads, tasks waited {}", name, coreSize + 1, Duration.ofNanos(queueLatencyNanos));
+            setCorePoolSize(coreSize + 1);
+        } else if (
+            queueEmpty && queueLatencyNanos < targetQueueLatencyNanos / 4 && coreSize > minSize && getActiveCount() < coreSize
+        ) {
+            LOG.debug("Shrinking executor '{}' to {} threads", name, coreSize - 1);
+            setCorePoolSize(coreSize - 1);
+        }
+    }
+
+    private final class InstrumentedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long submittedNanos = System.nanoTime();
+
+        private InstrumentedTask(Runnable task) {
+            this.task = task;
+            // no task starts while all the threads are busy, so the oldest queued task is also checked on each submission
+            if (getThreadPoolExecutor().getQueue().peek() instanceof InstrumentedTask oldest) {
+                resize(submittedNanos - oldest.submittedNanos, false);
+            }
+        }
+
+        @Override
+        public void run() {
+            long waitNanos = System.nanoTime() - submittedNanos;
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            resize(waitNanos, getThreadPoolExecutor().getQueue().isEmpty());
+            long startNanos = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                runTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package io.github.jhipster.sample.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +18,92 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Dashboard dashboard = new Dashboard();
+
+    private final UserCleanup userCleanup = new UserCleanup();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final Map<String, ExecutorPool> executors = new LinkedHashMap<>(
+        Map.of("mail", new ExecutorPool(1, 1, 10, false), "dashboard", new ExecutorPool(2, 8, 200, false))
+    );
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Tls tls = new Tls();
+
+    private final Replicas replicas = new Replicas();
+
+    private final OperationPartitions operationPartitions = new OperationPartitions();
+
+    private final OperationArchive operationArchive = new OperationArchive();
+
+    private final ConnectionPools connectionPools = new ConnectionPools();
+
+    private final IdGenerator idGenerator = new IdGenerator();
+
+    private final OperationSearch operationSearch = new OperationSearch();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Dashboard getDashboard() {
+        return dashboard;
+    }
+
+    public UserCleanup getUserCleanup() {
+        return userCleanup;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public Map<String, ExecutorPool> getExecutors() {
+        return executors;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Tls getTls() {
+        return tls;
+    }
+
+    public Replicas getReplicas() {
+        return replicas;
+    }
+
+    public OperationPartitions getOperationPartitions() {
+        return operationPartitions;
+    }
+
+    public OperationArchive getOperationArchive() {
+        return operationArchive;
+    }
+
+    public ConnectionPools getConnectionPools() {
+        return connectionPools;
+    }
+
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    public OperationSearch getOperationSearch() {
+        return operationSearch;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +118,600 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Dashboard {
+
+        private int latestOperations = 10;
+
+        private Duration latestOperationsPeriod = Duration.ofDays(90);
+
+        private Duration labelTotalsPeriod = Duration.ofDays(365);
+
+        private Duration partTimeout = Duration.ofSeconds(2);
+
+        public int getLatestOperations() {
+            return latestOperations;
+        }
+
+        public void setLatestOperations(int latestOperations) {
+            this.latestOperations = latestOperations;
+        }
+
+        public Duration getLatestOperationsPeriod() {
+            return latestOperationsPeriod;
+        }
+
+        public void setLatestOperationsPeriod(Duration latestOperationsPeriod) {
+            this.latestOperationsPeriod = latestOperationsPeriod;
+        }
+
+        public Duration getLabelTotalsPeriod() {
+            return labelTotalsPeriod;
+        }
+
+        public void setLabelTotalsPeriod(Duration labelTotalsPeriod) {
+            this.labelTotalsPeriod = labelTotalsPeriod;
+        }
+
+        public Duration getPartTimeout() {
+            return partTimeout;
+        }
+
+        public void setPartTimeout(Duration partTimeout) {
+            this.partTimeout = partTimeout;
+        }
+    }
+
+    public static class UserCleanup {
+
+        private int chunkSize = 500;
+
+        private Duration lockAtMostFor = Duration.ofMinutes(30);
+
+        private Duration lockAtLeastFor = Duration.ofMinutes(5);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+
+        public Duration getLockAtLeastFor() {
+            return lockAtLeastFor;
+        }
+
+        public void setLockAtLeastFor(Duration lockAtLeastFor) {
+            this.lockAtLeastFor = lockAtLeastFor;
+        }
+    }
+
+    public static class MailOutbox {
+
+        private String dispatchCron = "*/10 * * * * *";
+
+        private int batchSize = 50;
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofMinutes(1);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private Duration claimDuration = Duration.ofMinutes(5);
+
+        private Duration retention = Duration.ofDays(3);
+
+        private String purgeCron = "0 30 2 * * ?";
+
+        private Duration lockAtMostFor = Duration.ofMinutes(5);
+
+        public String getDispatchCron() {
+            return dispatchCron;
+        }
+
+        public void setDispatchCron(String dispatchCron) {
+            this.dispatchCron = dispatchCron;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getClaimDuration() {
+            return claimDuration;
+        }
+
+        public void setClaimDuration(Duration claimDuration) {
+            this.claimDuration = claimDuration;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+    }
+
+    public static class ExecutorPool {
+
+        private int minSize = 1;
+
+        private int maxSize = 8;
+
+        private int queueCapacity = 100;
+
+        private Duration targetQueueLatency = Duration.ofMillis(100);
+
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        private boolean callerRunsWhenSaturated = false;
+
+        public ExecutorPool() {}
+
+        public ExecutorPool(int minSize, int maxSize, int queueCapacity, boolean callerRunsWhenSaturated) {
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.callerRunsWhenSaturated = callerRunsWhenSaturated;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTargetQueueLatency() {
+            return targetQueueLatency;
+        }
+
+        public void setTargetQueueLatency(Duration targetQueueLatency) {
+            this.targetQueueLatency = targetQueueLatency;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public boolean isCallerRunsWhenSaturated() {
+            return callerRunsWhenSaturated;
+        }
+
+        public void setCallerRunsWhenSaturated(boolean callerRunsWhenSaturated) {
+            this.callerRunsWhenSaturated = callerRunsWhenSaturated;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
+
+    public static class Tls {
+
+        private int sessionCacheSize = 20000;
+
+        private Duration sessionTimeout = Duration.ofHours(4);
+
+        public int getSessionCacheSize() {
+            return sessionCacheSize;
+        }
+
+        public void setSessionCacheSize(int sessionCacheSize) {
+            this.sessionCacheSize = sessionCacheSize;
+        }
+
+        public Duration getSessionTimeout() {
+            return sessionTimeout;
+        }
+
+        public void setSessionTimeout(Duration sessionTimeout) {
+            this.sessionTimeout = sessionTimeout;
+        }
+    }
+
+    public static class Replicas {
+
+        private List<String> urls = new ArrayList<>();
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+
+        private Duration retryInterval = Duration.ofSeconds(30);
+
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public void setUrls(List<String> urls) {
+            this.urls = urls;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public Duration getRetryInterval() {
+            return retryInterval;
+        }
+
+        public void setRetryInterval(Duration retryInterval) {
+            this.retryInterval = retryInterval;
+        }
+
+        public Duration getReadYourWritesWindow() {
+            return readYourWritesWindow;
+        }
+
+        public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+        }
+    }
+
+    public static class OperationPartitions {
+
+        private boolean enabled = false;
+
+        private String maintenanceCron = "0 30 0 * * ?";
+
+        private int monthsAhead = 3;
+
+        private int retentionMonths = 0;
+
+        private Duration lockAtMostFor = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getMaintenanceCron() {
+            return maintenanceCron;
+        }
+
+        public void setMaintenanceCron(String maintenanceCron) {
+            this.maintenanceCron = maintenanceCron;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+    }
+
+    public static class OperationArchive {
+
+        private boolean enabled = false;
+
+        private String directory = "archive/operations";
+
+        private Duration archiveAfter = Duration.ofDays(90);
+
+        private int segmentSize = 10000;
+
+        private String archiveCron = "0 0 3 * * ?";
+
+        private Duration lockAtMostFor = Duration.ofHours(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Duration getArchiveAfter() {
+            return archiveAfter;
+        }
+
+        public void setArchiveAfter(Duration archiveAfter) {
+            this.archiveAfter = archiveAfter;
+        }
+
+        public int getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public String getArchiveCron() {
+            return archiveCron;
+        }
+
+        public void setArchiveCron(String archiveCron) {
+            this.archiveCron = archiveCron;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+    }
+    public static class ConnectionPools {
+
+        private Duration longHoldThreshold = Duration.ofSeconds(5);
+
+        private final Map<String, ConnectionPool> workloads = new LinkedHashMap<>(
+            Map.of("reporting", new ConnectionPool(4, Duration.ofSeconds(30)), "batch", new ConnectionPool(2, Duration.ofSeconds(60)))
+        );
+
+        public Duration getLongHoldThreshold() {
+            return longHoldThreshold;
+        }
+
+        public void setLongHoldThreshold(Duration longHoldThreshold) {
+            this.longHoldThreshold = longHoldThreshold;
+        }
+
+        public Map<String, ConnectionPool> getWorkloads() {
+            return workloads;
+        }
+    }
+
+    public static class ConnectionPool {
+
+        private int maximumPoolSize = 4;
+
+        private int minimumIdle = 1;
+
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+
+        public ConnectionPool() {}
+
+        public ConnectionPool(int maximumPoolSize, Duration connectionTimeout) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+
+    public static class IdGenerator {
+
+        private boolean timeOrdered = true;
+
+        private Integer nodeId;
+
+        public boolean isTimeOrdered() {
+            return timeOrdered;
+        }
+
+        public void setTimeOrdered(boolean timeOrdered) {
+            this.timeOrdered = timeOrdered;
+        }
+
+        public Integer getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(Integer nodeId) {
+            this.nodeId = nodeId;
+        }
+    }
+
+    public static class OperationSearch {
+
+        private boolean fullText = false;
+
+        private int maxPageSize = 100;
+
+        private int maxCandidates = 10_000;
+
+        public boolean isFullText() {
+            return fullText;
+        }
+
+        public void setFullText(boolean fullText) {
+            this.fullText = fullText;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getMaxCandidates() {
+            return maxCandidates;
+        }
+
+        public void setMaxCandidates(int maxCandidates) {
+            this.maxCandidates = maxCandidates;
+        }
+    }
+
+    public static class ResponseCache {
+
+        private Duration timeToLive = Duration.ofSeconds(5);
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
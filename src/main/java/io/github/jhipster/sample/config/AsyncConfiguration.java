@@ -1,18 +1,27 @@
 package io.github.jhipster.sample.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
 @Configuration
@@ -25,22 +34,81 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final MeterRegistry meterRegistry;
+
+    private final Environment environment;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, MeterRegistry meterRegistry, Environment environment) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) && !Threading.VIRTUAL.isActive(environment)) {
+            LOG.warn("Virtual threads are enabled but need Java 21 or later, running on platform threads");
+        }
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         LOG.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
+        TaskExecutionProperties.Pool properties = taskExecutionProperties.getPool();
+        ApplicationProperties.ExecutorPool pool = new ApplicationProperties.ExecutorPool(
+            properties.getCoreSize(),
+            properties.getMaxSize(),
+            properties.getQueueCapacity(),
+            false
+        );
+        pool.setKeepAlive(properties.getKeepAlive());
+        AdaptiveTaskExecutor executor = new AdaptiveTaskExecutor("taskExecutor", pool, meterRegistry);
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        executor.setThreadFactory(virtualThreadFactory(environment, taskExecutionProperties.getThreadNamePrefix()));
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Register an {@link AdaptiveTaskExecutor} bean named {@code <name>TaskExecutor} for each pool of
+     * {@code application.executors}, so that mail sending, the dashboard and other workloads cannot starve each other.
+     * <p>
+     * Executors already defined by another configuration, like the synchronous ones of the tests, are kept.
+     * In virtual thread mode, the pools keep their bounds, which protect the database and the SMTP server, but run their
+     * tasks on virtual threads.
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor namedTaskExecutorsRegistrar(Environment environment) {
+        return registry ->
+            Binder.get(environment)
+                .bindOrCreate("application", ApplicationProperties.class)
+                .getExecutors()
+                .forEach((name, pool) -> {
+                    String beanName = name + "TaskExecutor";
+                    if (registry.containsBeanDefinition(beanName)) {
+                        LOG.debug("Keeping the existing {} bean", beanName);
+                        return;
+                    }
+                    LOG.debug("Registering the {} bean", beanName);
+                    RootBeanDefinition definition = new RootBeanDefinition(AdaptiveTaskExecutor.class);
+                    ConstructorArgumentValues arguments = definition.getConstructorArgumentValues();
+                    arguments.addIndexedArgumentValue(0, beanName);
+                    arguments.addIndexedArgumentValue(1, pool);
+                    arguments.addIndexedArgumentValue(2, new RuntimeBeanReference(MeterRegistry.class));
+                    String threadNamePrefix = "jhipster-sample-application-" + name + "-";
+                    definition.getPropertyValues().add("threadNamePrefix", threadNamePrefix);
+                    definition.getPropertyValues().add("threadFactory", virtualThreadFactory(environment, threadNamePrefix));
+                    registry.registerBeanDefinition(beanName, definition);
+                });
+    }
+
+    /**
+     * @return a factory of virtual threads when {@code spring.threads.virtual.enabled} is set on Java 21 or later,
+     * {@code null} to keep the platform threads of the executor otherwise.
+     */
+    private static ThreadFactory virtualThreadFactory(Environment environment, String threadNamePrefix) {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            return null;
+        }
+        return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -1,6 +1,10 @@
 package io.github.jhipster.sample.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.ehcache.config.builders.*;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
@@ -9,8 +13,13 @@ import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
 import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
@@ -23,16 +32,20 @@ public class CacheConfiguration {
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    private final javax.cache.configuration.Configuration<Object, Object> responseCacheConfiguration;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+        jcacheConfiguration = jcacheConfiguration(ehcache.getMaxEntries(), Duration.ofSeconds(ehcache.getTimeToLiveSeconds()));
+        // the responses are evicted on the node running the write only, so they expire quickly on the other nodes
+        responseCacheConfiguration = jcacheConfiguration(ehcache.getMaxEntries(), applicationProperties.getResponseCache().getTimeToLive());
+    }
+
+    private static javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(long maxEntries, Duration timeToLive) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
                 .build()
         );
     }
@@ -52,20 +65,32 @@ public class CacheConfiguration {
             createCache(cm, io.github.jhipster.sample.domain.User.class.getName() + ".authorities");
             createCache(cm, io.github.jhipster.sample.domain.BankAccount.class.getName());
             createCache(cm, io.github.jhipster.sample.domain.BankAccount.class.getName() + ".operations");
+            createCache(cm, io.github.jhipster.sample.service.BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE);
             createCache(cm, io.github.jhipster.sample.domain.Label.class.getName());
             createCache(cm, io.github.jhipster.sample.domain.Label.class.getName() + ".operations");
             createCache(cm, io.github.jhipster.sample.domain.Operation.class.getName());
             createCache(cm, io.github.jhipster.sample.domain.Operation.class.getName() + ".labels");
+            createCache(cm, io.github.jhipster.sample.service.JsonResponseCache.BANK_ACCOUNTS_CACHE, responseCacheConfiguration);
+            createCache(cm, io.github.jhipster.sample.service.JsonResponseCache.OPERATIONS_CACHE, responseCacheConfiguration);
+            createCache(cm, io.github.jhipster.sample.service.JsonResponseCache.LABELS_CACHE, responseCacheConfiguration);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 
@@ -83,4 +108,23 @@ public class CacheConfiguration {
     public KeyGenerator keyGenerator() {
         return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
     }
+
+    /**
+     * Resolver for the {@code @Cacheable(sync = true)} methods which must not cache {@code null} results, see
+     * {@link SingleFlightCache}.
+     */
+    @Bean
+    public CacheResolver singleFlightCacheResolver(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        Map<String, Cache> caches = new ConcurrentHashMap<>();
+        return new SimpleCacheResolver(cacheManager) {
+            @Override
+            public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+                return super
+                    .resolveCaches(context)
+                    .stream()
+                    .map(cache -> caches.computeIfAbsent(cache.getName(), name -> new SingleFlightCache(cache, meterRegistry)))
+                    .toList();
+            }
+        };
+    }
 }
@@ -0,0 +1,98 @@
+package io.github.jhipster.sample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.aop.workload.WorkloadAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Gives each {@link Workload} its own connection pool, so that the reports and the batch jobs can never take all the
+ * connections of the interactive requests.
+ * <p>
+ * The {@link Workload#OLTP} pool is configured with the {@code spring.datasource.hikari} properties, and the pools of the
+ * other workloads with {@code application.connection-pools.workloads}, on the same database. Each pool publishes its
+ * {@code hikaricp.*} metrics, tagged with its name, among which the histograms of the time waited for a connection,
+ * {@code hikaricp.connections.acquire}, and of the time it is held, {@code hikaricp.connections.usage}. The connections held
+ * longer than {@code application.connection-pools.long-hold-threshold} are logged by the leak detection of the pools, with
+ * the stack trace of the code which fetched them. The connections are handed out by a {@link WorkloadRoutingDataSource}.
+ */
+@Configuration
+public class DataSourcePoolsConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public WorkloadRoutingDataSource workloadRoutingDataSource(
+        HikariDataSource oltpDataSource,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.ConnectionPools properties = applicationProperties.getConnectionPools();
+        oltpDataSource.setLeakDetectionThreshold(properties.getLongHoldThreshold().toMillis());
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        pools.put(Workload.OLTP, oltpDataSource);
+        properties
+            .getWorkloads()
+            .forEach((workload, poolProperties) -> {
+                HikariDataSource pool = workloadPool(oltpDataSource, workload, poolProperties, meterRegistry);
+                pool.setConnectionTimeout(poolProperties.getConnectionTimeout().toMillis());
+                pools.put(workload, pool);
+            });
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    /**
+     * Create the pool of a workload, on the same database, with the same credentials and settings as the given OLTP pool,
+     * leak detection included. The pool is started on its first connection.
+     */
+    static HikariDataSource workloadPool(
+        HikariDataSource oltpPool,
+        String workload,
+        ApplicationProperties.ConnectionPool properties,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource pool = new HikariDataSource();
+        oltpPool.copyStateTo(pool);
+        pool.setPoolName(Objects.requireNonNullElse(oltpPool.getPoolName(), "Hikari") + "-" + workload);
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setMinimumIdle(properties.getMinimumIdle());
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    /**
+     * The data source of the application, fetching the connections only when the transactions run their first statement,
+     * and sending the read-only ones to the {@link ReadReplicaDataSource} when there are read replicas.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        WorkloadRoutingDataSource workloadRoutingDataSource,
+        ObjectProvider<ReadReplicaDataSource> readReplicaDataSource
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+        readReplicaDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public WorkloadAspect workloadAspect() {
+        return new WorkloadAspect();
+    }
+}
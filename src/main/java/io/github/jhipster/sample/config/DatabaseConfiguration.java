@@ -1,10 +1,13 @@
 package io.github.jhipster.sample.config;
 
+import io.github.jhipster.sample.domain.id.TimeOrderedIdGenerator;
+import io.github.jhipster.sample.domain.id.TimeOrderedIds;
 import java.sql.SQLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,6 +49,30 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    /**
+     * Pass the settings of the identifiers generated by the application to Hibernate, which creates their generators.
+     *
+     * @param applicationProperties the properties of the application.
+     * @return the customizer of the Hibernate settings.
+     * @throws IllegalStateException if the ids are time-ordered and the node id is not set: two instances left with the
+     * same one would generate the same ids.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorHibernatePropertiesCustomizer(ApplicationProperties applicationProperties) {
+        ApplicationProperties.IdGenerator idGenerator = applicationProperties.getIdGenerator();
+        if (idGenerator.isTimeOrdered() && idGenerator.getNodeId() == null) {
+            throw new IllegalStateException(
+                "application.id-generator.node-id must be set, from 0 to " + TimeOrderedIds.MAX_NODE_ID + ", unique among the instances"
+            );
+        }
+        return hibernateProperties -> {
+            hibernateProperties.put(TimeOrderedIdGenerator.TIME_ORDERED, idGenerator.isTimeOrdered());
+            if (idGenerator.getNodeId() != null) {
+                hibernateProperties.put(TimeOrderedIdGenerator.NODE_ID, idGenerator.getNodeId());
+            }
+        };
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
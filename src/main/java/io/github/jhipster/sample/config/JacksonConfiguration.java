@@ -1,19 +1,40 @@
 package io.github.jhipster.sample.config;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module.Feature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-public class JacksonConfiguration {
+public class JacksonConfiguration implements WebMvcConfigurer {
+
+    /**
+     * The filter of the entities whose relations are only serialized when requested with the {@code expand} parameter.
+     */
+    public static final String RELATIONS_FILTER = "relations";
 
     /**
      * Support for Java date and time API.
@@ -46,4 +67,76 @@ public class JacksonConfiguration {
     public Hibernate6Module hibernate6Module() {
         return new Hibernate6Module().configure(Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
     }
+
+    /**
+     * Serialize all the relations of the entities, unless a response sets its own {@link #RELATIONS_FILTER}.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer relationsFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().addFilter(RELATIONS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Binary encoding of the collections read and written by the list and batch endpoints, negotiated with the
+     * {@code application/cbor} media type.
+     * <p>
+     * It uses the modules of the JSON mapper, but writes {@link java.time.Instant} as epoch milliseconds and
+     * {@link java.math.BigDecimal} as CBOR decimal fractions, so large pages are smaller and cheaper to encode than in JSON.
+     * Single entities, counts and errors stay in JSON: a request for them in CBOR is answered with a 406 or a 415.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new CollectionCborHttpMessageConverter(
+            jackson2ObjectMapperBuilder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(
+                    SerializationFeature.INDENT_OUTPUT,
+                    SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                    DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS
+                )
+                .build()
+        );
+    }
+
+    /**
+     * Remove the default CBOR converter, which Spring Boot keeps after the {@link #cborHttpMessageConverter} bean and
+     * which would encode everything else.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter.getClass() == MappingJackson2CborHttpMessageConverter.class);
+    }
+
+    /**
+     * CBOR converter limited to the bodies which are collections.
+     */
+    private static class CollectionCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+        CollectionCborHttpMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return Collection.class.isAssignableFrom(clazz) && super.canRead(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return (
+                Collection.class.isAssignableFrom(ResolvableType.forType(type).toClass()) && super.canRead(type, contextClass, mediaType)
+            );
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return Collection.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return clazz != null && Collection.class.isAssignableFrom(clazz) && super.canWrite(type, clazz, mediaType);
+        }
+    }
 }
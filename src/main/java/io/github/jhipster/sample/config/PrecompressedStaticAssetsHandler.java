@@ -0,0 +1,83 @@
+package io.github.jhipster.sample.config;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.PreCompressedResourceSupplier;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.server.handlers.resource.ResourceHandler;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.server.handlers.resource.ResourceSupplier;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+
+/**
+ * Undertow handler serving the hashed bundles of the client build, ahead of the servlet container.
+ * <p>
+ * The {@code .br} variant written by the build, or else the {@code .gz} one, is picked according to {@code Accept-Encoding},
+ * so bundles are not compressed on each request, and files are sent with {@code FileChannel.transferTo} when they are on
+ * disk. As a bundle's name changes with its content, it is cached as immutable. Other paths, and bundles which do not
+ * exist, are handed to the next handler.
+ */
+public class PrecompressedStaticAssetsHandler implements HttpHandler {
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    /**
+     * Length of the content hashes added by the client build, as in {@code main.0123456789abcdef0123.js}.
+     */
+    private static final int MIN_HASH_LENGTH = 16;
+
+    private final HttpHandler next;
+
+    private final ResourceHandler resourceHandler;
+
+    public PrecompressedStaticAssetsHandler(ResourceManager resourceManager, HttpHandler next) {
+        this.next = next;
+        // Undertow picks the first acceptable encoding in the order of the header, browsers list gzip before br
+        ResourceSupplier brotli = new PreCompressedResourceSupplier(resourceManager).addEncoding("br", ".br");
+        ResourceSupplier gzip = new PreCompressedResourceSupplier(resourceManager).addEncoding("gzip", ".gz");
+        this.resourceHandler = new ResourceHandler(
+            (exchange, path) -> {
+                Resource resource = brotli.getResource(exchange, path);
+                return resource != null && resource.getName().endsWith(".br") ? resource : gzip.getResource(exchange, path);
+            },
+            exchange -> {
+                exchange.getResponseHeaders().remove(Headers.CACHE_CONTROL);
+                exchange.getResponseHeaders().remove(Headers.VARY);
+                next.handleRequest(exchange);
+            }
+        );
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        boolean readOnly = Methods.GET.equals(exchange.getRequestMethod()) || Methods.HEAD.equals(exchange.getRequestMethod());
+        if (readOnly && isHashed(exchange.getRelativePath())) {
+            exchange.getResponseHeaders().put(Headers.CACHE_CONTROL, IMMUTABLE).put(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+            resourceHandler.handleRequest(exchange);
+        } else {
+            next.handleRequest(exchange);
+        }
+    }
+
+    /**
+     * Tell whether the file name has a hexadecimal part of at least {@link #MIN_HASH_LENGTH} characters between two periods.
+     */
+    static boolean isHashed(String path) {
+        int hashLength = -1;
+        for (int i = path.lastIndexOf('/') + 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                if (hashLength >= MIN_HASH_LENGTH) {
+                    return true;
+                }
+                hashLength = 0;
+            } else if (hashLength >= 0 && ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                hashLength++;
+            } else {
+                hashLength = -1;
+            }
+        }
+        return false;
+    }
+}
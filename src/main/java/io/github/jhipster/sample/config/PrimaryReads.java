@@ -0,0 +1,80 @@
+package io.github.jhipster.sample.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds whether the current thread must read from the primary database, rather than from the read replicas lagging behind.
+ * <p>
+ * The reads are pinned to the primary for a client which has just written, by the {@code ReadYourWritesFilter}, and while
+ * a cache is loaded, so that it never keeps rows older than the last write. A read-only transaction reads from the database
+ * of its first statement. The tasks submitted to the executors are pinned as the thread which submitted them, see
+ * {@link #decorate(Runnable)}.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {}
+
+    /**
+     * @return whether the current thread must read from the primary.
+     */
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Run a task reading from the primary.
+     *
+     * @param task the task to run.
+     * @return the result of the task.
+     */
+    public static <T> T call(Supplier<T> task) {
+        boolean previous = pin();
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Pin the reads of the current thread to the primary, until {@link #restore(boolean)} is called.
+     *
+     * @return whether they were already pinned, to pass to {@link #restore(boolean)}.
+     */
+    public static boolean pin() {
+        boolean previous = isPinned();
+        PINNED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    /**
+     * Restore the pin of the current thread as it was before {@link #pin()}.
+     *
+     * @param previous the value returned by {@link #pin()}.
+     */
+    public static void restore(boolean previous) {
+        if (!previous) {
+            PINNED.remove();
+        }
+    }
+
+    /**
+     * A {@link org.springframework.core.task.TaskDecorator} running the tasks of an executor pinned as the thread which
+     * submitted them.
+     *
+     * @param task the submitted task.
+     * @return the task to run.
+     */
+    public static Runnable decorate(Runnable task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () ->
+            call(() -> {
+                task.run();
+                return null;
+            });
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.jhipster.sample.config;
+
+import com.nimbusds.jose.util.Base64;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.web.filter.ReadYourWritesFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends the read-only transactions to the read replicas listed in {@code application.replicas.urls}, and the others to the
+ * primary configured with the {@code spring.datasource} properties.
+ * <p>
+ * The connections are only fetched when the transaction runs its first statement, once its read-only flag is known, by the
+ * {@link LazyConnectionDataSourceProxy} of the {@link DataSourcePoolsConfiguration}, using the {@link ReadReplicaDataSource}
+ * for the read-only ones. A client reading
+ * right after it wrote is kept on the primary by the {@link ReadYourWritesFilter}.
+ * <p>
+ * As on the primary, each replica has a pool for each of the {@code application.connection-pools.workloads}, so that the
+ * reports and the batch jobs can never take all the connections of the interactive requests to a replica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replicas", name = "urls[0]")
+public class ReadReplicaConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource readReplicaDataSource(
+        HikariDataSource oltpDataSource,
+        WorkloadRoutingDataSource workloadRoutingDataSource,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.Replicas properties = applicationProperties.getReplicas();
+        ApplicationProperties.ConnectionPools connectionPools = applicationProperties.getConnectionPools();
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : properties.getUrls()) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(Objects.requireNonNullElse(oltpDataSource.getPoolName(), "Hikari") + "-replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url);
+            config.setUsername(properties.getUsername() != null ? properties.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(properties.getPassword() != null ? properties.getPassword() : dataSourceProperties.determinePassword());
+            config.setAutoCommit(oltpDataSource.isAutoCommit());
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+            config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            config.setLeakDetectionThreshold(connectionPools.getLongHoldThreshold().toMillis());
+            // an unreachable replica must not keep the application from starting
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            HikariDataSource oltpPool = new HikariDataSource(config);
+            Map<String, DataSource> pools = new LinkedHashMap<>();
+            pools.put(Workload.OLTP, oltpPool);
+            // the pools of the workloads also give up on an unreachable replica after its connection timeout
+            connectionPools
+                .getWorkloads()
+                .forEach((workload, poolProperties) ->
+                    pools.put(workload, DataSourcePoolsConfiguration.workloadPool(oltpPool, workload, poolProperties, meterRegistry))
+                );
+            replicas.add(new WorkloadRoutingDataSource(pools));
+        }
+        ReadReplicaDataSource readReplicaDataSource = new ReadReplicaDataSource(
+            workloadRoutingDataSource,
+            replicas,
+            properties.getRetryInterval(),
+            PrimaryReads::isPinned
+        );
+        Gauge.builder("datasource.replicas.available", readReplicaDataSource, ReadReplicaDataSource::getAvailableReplicas)
+            .description("Read replicas not skipped after failing to hand out a connection")
+            .register(meterRegistry);
+        return readReplicaDataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+        ApplicationProperties applicationProperties,
+        @Value("${jhipster.security.authentication.jwt.base64-secret}") String jwtKey
+    ) {
+        // the tokens are signed with the key of the JWT, which is shared by all the instances
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+            new ReadYourWritesFilter(applicationProperties.getReplicas().getReadYourWritesWindow(), Base64.from(jwtKey).decode())
+        );
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.jhipster.sample.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out the connections of the read-only transactions, from the read replicas in turn.
+ * <p>
+ * A replica failing to hand out a connection is skipped until the retry interval has elapsed, and the next one is tried.
+ * The primary is used when no replica is available, and for the requests pinned to it to read their own writes.
+ * <p>
+ * The transactions reading from a replica are flagged, see {@link #isCurrentTransactionOnReplica()}.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private static final String ON_REPLICA = ReadReplicaDataSource.class.getName() + ".ON_REPLICA";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final long retryIntervalNanos;
+
+    private final BooleanSupplier pinnedToPrimary;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary the primary database, used when no replica is available.
+     * @param replicas the connection pools of the replicas.
+     * @param retryInterval the delay during which a failed replica is skipped.
+     * @param pinnedToPrimary whether the current thread must read from the primary.
+     */
+    public ReadReplicaDataSource(DataSource primary, List<DataSource> replicas, Duration retryInterval, BooleanSupplier pinnedToPrimary) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.pinnedToPrimary = pinnedToPrimary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (pinnedToPrimary.getAsBoolean()) {
+            return primary.getConnection();
+        }
+        int first = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(first + i, replicas.size()));
+            long now = System.nanoTime();
+            if (replica.isSkipped(now)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                flagCurrentTransaction();
+                return connection;
+            } catch (SQLException e) {
+                LOG.warn("Skipping the read replica {} for {} ms: {}", replica.dataSource, retryIntervalNanos / 1_000_000, e.getMessage());
+                replica.skipUntil = now + retryIntervalNanos;
+            }
+        }
+        LOG.debug("No read replica available, reading from the primary");
+        return primary.getConnection();
+    }
+
+    /**
+     * Get a connection of the primary: the replicas are configured with the credentials of their pool.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * @return whether the current transaction reads from a replica, which may not have received the latest writes yet: what
+     * it reads must not be cached.
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.hasResource(ON_REPLICA);
+    }
+
+    private static void flagCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isCurrentTransactionOnReplica()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(ON_REPLICA, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ON_REPLICA);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return the number of replicas currently handing out connections.
+     */
+    public int getAvailableReplicas() {
+        long now = System.nanoTime();
+        return (int) replicas.stream().filter(replica -> !replica.isSkipped(now)).count();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOG.warn("Could not close the read replica {}", replica.dataSource, e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+
+        private volatile long skipUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isSkipped(long now) {
+            return skipUntil != 0 && now - skipUntil < 0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.jhipster.sample.config;
+
+import javax.sql.DataSource;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Coordinates the {@code @Scheduled} tasks annotated with {@code @SchedulerLock} across all the nodes of the cluster,
+ * using the {@code shedlock} table so that each run happens on a single node.
+ */
+@Configuration
+@EnableSchedulerLock(defaultLockAtMostFor = "PT30M")
+@Profile("!testdev & !testprod")
+public class SchedulerLockConfiguration {
+
+    /**
+     * Locks are taken in their own transaction, using the JPA transaction manager so that a surrounding JPA transaction
+     * is suspended rather than committed along with the lock.
+     */
+    @Bean
+    public LockProvider lockProvider(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        return new JdbcTemplateLockProvider(
+            JdbcTemplateLockProvider.Configuration.builder()
+                .withJdbcTemplate(new JdbcTemplate(dataSource))
+                .withTransactionManager(transactionManager)
+                .usingDbTime()
+                .build()
+        );
+    }
+}
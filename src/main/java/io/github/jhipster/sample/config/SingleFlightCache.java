@@ -0,0 +1,116 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Cache running a single load for the concurrent misses of a same key, for the {@code @Cacheable(sync = true)} methods.
+ * <p>
+ * Unlike the synchronized loads of the underlying caches, a {@code null} result is not cached: an unknown key is looked up
+ * again on the next call, as with {@code unless = "#result == null"}.
+ * <p>
+ * The loaded value may be an entity managed by the transaction of the loading caller, so the cache and the callers which
+ * waited for the load get copies of it made with Java serialization. The waiting callers keep the connection of their
+ * own transaction, if they run in one.
+ * <p>
+ * The load reads from the primary, see {@link PrimaryReads}, and its value is not cached when its transaction was already
+ * reading from a lagging read replica.
+ */
+class SingleFlightCache implements Cache {
+
+    private final Cache delegate;
+
+    private final SingleFlight<Object, Object> loads;
+
+    SingleFlightCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.loads = new SingleFlight<>(delegate.getName(), meterRegistry, SingleFlightCache::copy);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        return (T) loads.load(key, () -> {
+            // the load in flight may have completed since the first lookup
+            ValueWrapper loaded = delegate.get(key);
+            if (loaded != null) {
+                return loaded.get();
+            }
+            T value = PrimaryReads.call(() -> call(key, valueLoader));
+            if (value != null && !ReadReplicaDataSource.isCurrentTransactionOnReplica()) {
+                delegate.put(key, copy(value));
+            }
+            return value;
+        });
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof Serializable serializable ? SerializationUtils.clone(serializable) : value;
+    }
+
+    private static <T> T call(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.management.UndertowConnectorMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import javax.net.ssl.SSLSessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowWebServer;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Tunes the listeners of the Undertow server once it has started, and publishes their connections.
+ * <p>
+ * HTTP/2 is enabled by the {@code tls} profile. Its stream concurrency is set with
+ * {@code server.undertow.options.server.http2-settings-max-concurrent-streams}, and the TLS sessions are kept as configured
+ * in {@link ApplicationProperties.Tls}, so that clients opening new connections resume them instead of running a full
+ * handshake.
+ */
+@Configuration
+public class UndertowConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UndertowConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public UndertowConfiguration(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowStatisticsCustomizer() {
+        return factory -> factory.addBuilderCustomizers(builder -> builder.setServerOption(UndertowOptions.ENABLE_STATISTICS, true));
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() != null || !(event.getWebServer() instanceof UndertowWebServer webServer)) {
+            return;
+        }
+        for (Undertow.ListenerInfo listener : webServer.getUndertow().getListenerInfo()) {
+            if (listener.getSslContext() != null) {
+                SSLSessionContext sessionContext = listener.getSslContext().getServerSessionContext();
+                ApplicationProperties.Tls tls = applicationProperties.getTls();
+                sessionContext.setSessionCacheSize(tls.getSessionCacheSize());
+                sessionContext.setSessionTimeout(Math.toIntExact(tls.getSessionTimeout().toSeconds()));
+                LOG.debug("Caching {} TLS sessions for {} on {}", tls.getSessionCacheSize(), tls.getSessionTimeout(), listener);
+            }
+            new UndertowConnectorMetrics(listener).bindTo(meterRegistry);
+        }
+    }
+}
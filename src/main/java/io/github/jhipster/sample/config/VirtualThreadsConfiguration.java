@@ -0,0 +1,43 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.management.VirtualThreadDiagnostics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the servlet requests on virtual threads, when {@code spring.threads.virtual.enabled} is set on Java 21 or later.
+ * <p>
+ * Spring Boot only does so for Tomcat and Jetty, so the Undertow deployment is given a virtual thread executor instead of
+ * the XNIO worker pool. The executors of {@link AsyncConfiguration} and the {@code @Scheduled} tasks also switch to virtual
+ * threads in this mode.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                LOG.debug("Dispatching the servlet requests to virtual threads");
+                VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("jhipster-sample-application-http-");
+                deploymentInfo.setExecutor(executor);
+                deploymentInfo.setAsyncExecutor(executor);
+            });
+    }
+
+    @Bean
+    public VirtualThreadDiagnostics virtualThreadDiagnostics(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new VirtualThreadDiagnostics(meterRegistry, applicationProperties.getVirtualThreads().getPinnedThreshold());
+    }
+}
@@ -2,12 +2,17 @@ package io.github.jhipster.sample.config;
 
 import static java.net.URLDecoder.decode;
 
+import io.undertow.server.handlers.resource.ClassPathResourceManager;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.ResourceManager;
 import jakarta.servlet.*;
 import java.io.File;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
 import org.springframework.boot.web.server.*;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
@@ -69,9 +74,37 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
             if (root.exists() && root.isDirectory()) {
                 servletWebServer.setDocumentRoot(root);
             }
+            if (server instanceof UndertowServletWebServerFactory undertow) {
+                setPrecompressedStaticAssets(undertow, root);
+            }
         }
     }
 
+    /**
+     * Serve the hashed bundles of the client build with {@link PrecompressedStaticAssetsHandler}, from the disk when they
+     * are not packaged in a jar.
+     */
+    private void setPrecompressedStaticAssets(UndertowServletWebServerFactory server, File root) {
+        ResourceManager resourceManager;
+        if (root.isDirectory()) {
+            resourceManager = new PathResourceManager(root.toPath());
+        } else {
+            URL classpathRoot = getClass().getResource("/static/");
+            if (classpathRoot == null) {
+                return;
+            }
+            if ("file".equals(classpathRoot.getProtocol())) {
+                resourceManager = new PathResourceManager(Path.of(decode(classpathRoot.getPath(), StandardCharsets.UTF_8)));
+            } else {
+                resourceManager = new ClassPathResourceManager(getClass().getClassLoader(), "static");
+            }
+        }
+        LOG.debug("Serving the hashed static assets from {}", resourceManager);
+        server.addDeploymentInfoCustomizers(deploymentInfo ->
+            deploymentInfo.addInitialHandlerChainWrapper(next -> new PrecompressedStaticAssetsHandler(resourceManager, next))
+        );
+    }
+
     /**
      * Resolve path prefix to static resources.
      */
@@ -0,0 +1,83 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.aop.workload.WorkloadContext;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out the connections of the pool of the current {@link Workload}, or of the {@link Workload#OLTP} pool.
+ * <p>
+ * The connections are those of the pools, not wrapped: the ones held for too long are reported by the leak detection of the
+ * pools, and the time they are held is published by their {@code hikaricp.connections.usage} metrics.
+ * <p>
+ * The pools are closed with it.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkloadRoutingDataSource.class);
+
+    private final Map<String, DataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<String, DataSource> pools) {
+        if (!pools.containsKey(Workload.OLTP)) {
+            throw new IllegalArgumentException("The " + Workload.OLTP + " pool is required");
+        }
+        this.pools = Map.copyOf(pools);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pool().getConnection();
+    }
+
+    /**
+     * Get a connection of the pool of the current workload with other credentials, if the pool supports it.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pool().getConnection(username, password);
+    }
+
+    /**
+     * Get the pools, by workload.
+     *
+     * @return the pools.
+     */
+    public Map<String, DataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkloadRoutingDataSource of " + pools.get(Workload.OLTP);
+    }
+
+    private DataSource pool() {
+        WorkloadContext.Scope scope = WorkloadContext.current();
+        return pools.get(scope != null && pools.containsKey(scope.workload()) ? scope.workload() : Workload.OLTP);
+    }
+
+    /**
+     * Close the pools of the workloads. The {@link Workload#OLTP} pool of the primary is also a bean of its own, which is
+     * then closed again without effect.
+     */
+    @Override
+    public void close() {
+        pools.forEach((workload, pool) -> {
+            if (pool instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOG.warn("Pool of workload {} could not be closed", workload, e);
+                }
+            }
+        });
+    }
+}
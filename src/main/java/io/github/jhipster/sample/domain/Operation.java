@@ -1,6 +1,9 @@
 package io.github.jhipster.sample.domain;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.github.jhipster.sample.config.JacksonConfiguration;
+import io.github.jhipster.sample.domain.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -17,14 +20,14 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "operation")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@JsonFilter(JacksonConfiguration.RELATIONS_FILTER)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Operation implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @TimeOrderedId
     @Column(name = "id")
     private Long id;
 
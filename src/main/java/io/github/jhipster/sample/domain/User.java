@@ -8,7 +8,12 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
@@ -69,16 +74,28 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
     @Column(name = "image_url", length = 256)
     private String imageUrl;
 
-    @Size(max = 20)
-    @Column(name = "activation_key", length = 20)
+    /**
+     * Activation and reset keys are only known in clear until the entity is saved (to be sent by mail):
+     * the database only stores their hash, see {@link #hashKey(String)}.
+     */
+    @Transient
     @JsonIgnore
     private String activationKey;
 
-    @Size(max = 20)
-    @Column(name = "reset_key", length = 20)
+    @Size(max = 22)
+    @Column(name = "activation_key", length = 22)
+    @JsonIgnore
+    private String activationKeyHash;
+
+    @Transient
     @JsonIgnore
     private String resetKey;
 
+    @Size(max = 22)
+    @Column(name = "reset_key", length = 22)
+    @JsonIgnore
+    private String resetKeyHash;
+
     @Column(name = "reset_date")
     private Instant resetDate = null;
 
@@ -164,6 +181,11 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
 
     public void setActivationKey(String activationKey) {
         this.activationKey = activationKey;
+        this.activationKeyHash = hashKey(activationKey);
+    }
+
+    public String getActivationKeyHash() {
+        return activationKeyHash;
     }
 
     public String getResetKey() {
@@ -172,6 +194,11 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
 
     public void setResetKey(String resetKey) {
         this.resetKey = resetKey;
+        this.resetKeyHash = hashKey(resetKey);
+    }
+
+    public String getResetKeyHash() {
+        return resetKeyHash;
     }
 
     public Instant getResetDate() {
@@ -198,6 +225,26 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
         this.authorities = authorities;
     }
 
+    /**
+     * Hash an activation or reset key the way it is stored in the database.
+     * <p>
+     * The SHA-256 digest is truncated to 128 bits, which is enough for random keys and keeps the token indexes small.
+     *
+     * @param key the key in clear.
+     * @return the URL-safe Base64 encoded hash of the key, or {@code null} if the key is {@code null}.
+     */
+    public static String hashKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -226,7 +273,6 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
             ", imageUrl='" + imageUrl + '\'' +
             ", activated='" + activated + '\'' +
             ", langKey='" + langKey + '\'' +
-            ", activationKey='" + activationKey + '\'' +
             "}";
     }
 }
@@ -0,0 +1,70 @@
+package io.github.jhipster.sample.domain.id;
+
+import java.util.Properties;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generates the identifiers of the entities annotated with {@link TimeOrderedId} with {@link TimeOrderedIds}, or with the
+ * {@code sequence_generator} sequence shared by the entities, as before, when the {@value #TIME_ORDERED} setting is
+ * {@code false}.
+ * <p>
+ * The identifiers of the rows already inserted are kept: the time-ordered identifiers start above 2<sup>50</sup>, far above
+ * the values of the sequence, so the two generators can be switched in both directions without any migration of the data.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    /**
+     * Whether the identifiers are time-ordered ones, {@code true} by default.
+     */
+    public static final String TIME_ORDERED = "io.github.jhipster.sample.id.time_ordered";
+
+    /**
+     * The id of the node generating the identifiers, unique among the instances of the application, {@code 0} by default.
+     */
+    public static final String NODE_ID = "io.github.jhipster.sample.id.node_id";
+
+    private static final String SEQUENCE_NAME = "sequence_generator";
+
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private final SequenceStyleGenerator sequence = new SequenceStyleGenerator();
+
+    private TimeOrderedIds ids;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        ConfigurationService configuration = serviceRegistry.requireService(ConfigurationService.class);
+        if (configuration.getSetting(TIME_ORDERED, StandardConverters.BOOLEAN, true)) {
+            ids = new TimeOrderedIds(configuration.getSetting(NODE_ID, StandardConverters.INTEGER, 0));
+        }
+        // the sequence stays declared whatever the generator, for the schema validation and the other entities
+        Properties sequenceParameters = new Properties();
+        sequenceParameters.putAll(parameters);
+        sequenceParameters.put(SequenceStyleGenerator.SEQUENCE_PARAM, SEQUENCE_NAME);
+        sequenceParameters.put(SequenceStyleGenerator.INCREMENT_PARAM, SEQUENCE_INCREMENT);
+        sequence.configure(type, sequenceParameters, serviceRegistry);
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        sequence.registerExportables(database);
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        sequence.initialize(context);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return ids != null ? ids.next() : sequence.generate(session, object);
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.jhipster.sample.domain.id;
+
+import java.time.Instant;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit identifiers, generated without any round-trip to the database.
+ * <p>
+ * An identifier is made of the milliseconds elapsed since {@link #EPOCH} on 41 bits, then of the id of the node generating it
+ * on {@value #NODE_BITS} bits, then of a counter of the identifiers generated in the same millisecond on {@value #COUNTER_BITS}
+ * bits. It stays below 2<sup>53</sup>, so that the web client reads it exactly as a JavaScript number, until 2085.
+ * <p>
+ * When the counter of a millisecond is exhausted, the next identifier waits for the clock to move on to the next one, so that
+ * an identifier never holds a time ahead of the clock, which another instance restarted with the same node id could reach.
+ * The identifiers are not generated while the clock is behind the last one, which would generate it again.
+ */
+public final class TimeOrderedIds {
+
+    /**
+     * The date the first entities of the application were created.
+     */
+    public static final long EPOCH = Instant.parse("2015-08-05T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 4;
+
+    static final int COUNTER_BITS = 8;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    private final long nodeId;
+
+    private final LongSupplier clock;
+
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * The milliseconds since {@link #EPOCH} of the last identifier.
+     */
+    private long lastMillis = -1;
+
+    /**
+     * The counter of the last identifier.
+     */
+    private int counter;
+
+    public TimeOrderedIds(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIds(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("The node id must be between 0 and " + MAX_NODE_ID + ", not " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Generate the next identifier.
+     *
+     * @return the identifier.
+     * @throws IllegalStateException if the clock went back since the last identifier.
+     */
+    public long next() {
+        lock.lock();
+        try {
+            long millis = millis();
+            if (millis == lastMillis && counter == MAX_COUNTER) {
+                do {
+                    Thread.onSpinWait();
+                    millis = millis();
+                } while (millis == lastMillis);
+            }
+            counter = millis == lastMillis ? counter + 1 : 0;
+            lastMillis = millis;
+            return (millis << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | counter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long millis() {
+        long millis = clock.getAsLong() - EPOCH;
+        if (millis < lastMillis) {
+            throw new IllegalStateException(
+                "The clock went back by " + (lastMillis - millis) + " ms, no id is generated until it catches up"
+            );
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Identifiers of the entities, generated by the application rather than by the database.
+ */
+package io.github.jhipster.sample.domain.id;
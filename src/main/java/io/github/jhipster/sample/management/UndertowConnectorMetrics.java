@@ -0,0 +1,78 @@
+package io.github.jhipster.sample.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.undertow.Undertow;
+import io.undertow.server.ConnectorStatistics;
+import java.util.Collections;
+import javax.net.ssl.SSLSessionContext;
+
+/**
+ * Publishes the connections of an Undertow listener, which the request metrics of Spring do not show.
+ * <p>
+ * With HTTP/2, a page load multiplexes its requests over a single connection, so {@code undertow.requests.active} grows
+ * while {@code undertow.connections.active} stays low. On TLS listeners, {@code undertow.tls.sessions} tells how many
+ * sessions can be resumed without a full handshake.
+ */
+public class UndertowConnectorMetrics implements MeterBinder {
+
+    private final Undertow.ListenerInfo listener;
+
+    public UndertowConnectorMetrics(Undertow.ListenerInfo listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ConnectorStatistics statistics = listener.getConnectorStatistics();
+        if (statistics == null) {
+            // UndertowOptions.ENABLE_STATISTICS is not set
+            return;
+        }
+        // the statistics of the HTTP/2 listeners are aggregated in a new instance on each call, so it is kept
+        // referenced by the gauges, the counters only holding it weakly
+        Tags tags = Tags.of("protocol", listener.getProtcol());
+        Gauge.builder("undertow.connections.active", statistics, ConnectorStatistics::getActiveConnections)
+            .description("Open connections")
+            .tags(tags)
+            .strongReference(true)
+            .register(registry);
+        Gauge.builder("undertow.connections.max", statistics, ConnectorStatistics::getMaxActiveConnections)
+            .description("Maximum number of connections open at the same time")
+            .tags(tags)
+            .strongReference(true)
+            .register(registry);
+        Gauge.builder("undertow.requests.active", statistics, ConnectorStatistics::getActiveRequests)
+            .description("Requests being processed, over all the connections")
+            .tags(tags)
+            .strongReference(true)
+            .register(registry);
+        FunctionCounter.builder("undertow.requests", statistics, ConnectorStatistics::getRequestCount)
+            .description("Requests received")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder("undertow.requests.errors", statistics, ConnectorStatistics::getErrorCount)
+            .description("Requests answered with a 5xx status")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder("undertow.bytes.sent", statistics, ConnectorStatistics::getBytesSent)
+            .baseUnit(BaseUnits.BYTES)
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder("undertow.bytes.received", statistics, ConnectorStatistics::getBytesReceived)
+            .baseUnit(BaseUnits.BYTES)
+            .tags(tags)
+            .register(registry);
+        if (listener.getSslContext() != null) {
+            SSLSessionContext sessionContext = listener.getSslContext().getServerSessionContext();
+            Gauge.builder("undertow.tls.sessions", sessionContext, context -> Collections.list(context.getIds()).size())
+                .description("TLS sessions cached for resumption")
+                .tags(tags)
+                .register(registry);
+        }
+    }
+}
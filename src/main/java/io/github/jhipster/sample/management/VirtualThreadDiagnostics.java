@@ -0,0 +1,109 @@
+package io.github.jhipster.sample.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the virtual threads pinning their carrier thread, and the carrier threads available to them.
+ * <p>
+ * A virtual thread blocking inside a {@code synchronized} block or a native call keeps its carrier thread, so enough of them
+ * starve all the other virtual threads. Those pins are streamed from the JDK Flight Recorder, logged with the frames that
+ * caused them and counted in {@code jvm.threads.virtual.pinned}.
+ */
+public class VirtualThreadDiagnostics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration pinnedThreshold;
+
+    private final Timer pinnedTimer;
+
+    private final Counter submitFailedCounter;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadDiagnostics(MeterRegistry registry, Duration pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads were pinned to their carrier thread")
+            .register(registry);
+        this.submitFailedCounter = Counter.builder("jvm.threads.virtual.submit.failed")
+            .description("Virtual threads which could not be started or unparked")
+            .register(registry);
+        Gauge.builder("jvm.threads.virtual.carrier.parallelism", () ->
+            Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors())
+        )
+            .description("Carrier threads scheduling the virtual threads")
+            .register(registry);
+        Gauge.builder("jvm.threads.virtual.carrier.max", () -> Integer.getInteger("jdk.virtualThreadScheduler.maxPoolSize", 256))
+            .description("Carrier threads available to compensate for pinned virtual threads")
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        LOG.debug("Streaming virtual thread pinning events longer than {}", pinnedThreshold);
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        recordingStream.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.onEvent(SUBMIT_FAILED_EVENT, this::onSubmitFailed);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        LOG.warn("Virtual thread '{}' pinned its carrier thread for {} at {}", threadName(event), event.getDuration(), frames(event));
+    }
+
+    private void onSubmitFailed(RecordedEvent event) {
+        submitFailedCounter.increment();
+        LOG.error("Virtual thread '{}' could not be scheduled on a carrier thread at {}", threadName(event), frames(event));
+    }
+
+    private static String threadName(RecordedEvent event) {
+        return event.getThread() == null ? "unknown" : event.getThread().getJavaName();
+    }
+
+    private static String frames(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "an unknown location";
+        }
+        return stackTrace
+            .getFrames()
+            .stream()
+            .limit(LOGGED_FRAMES)
+            .map(VirtualThreadDiagnostics::frame)
+            .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
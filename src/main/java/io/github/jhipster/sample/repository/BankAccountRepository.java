@@ -1,8 +1,10 @@
 package io.github.jhipster.sample.repository;
 
 import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.BankAccount_;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -13,7 +15,7 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the BankAccount entity.
  */
 @Repository
-public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
+public interface BankAccountRepository extends BankAccountRepositoryWithProjections, JpaRepository<BankAccount, Long> {
     @Query("select bankAccount from BankAccount bankAccount where bankAccount.user.login = ?#{authentication.name}")
     List<BankAccount> findByUserIsCurrentUser();
 
@@ -29,6 +31,17 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
         return this.findAllWithToOneRelationships(pageable);
     }
 
+    /**
+     * Load the bank accounts, joining only the given {@link #RELATIONS}: the others are left lazy and not serialized.
+     */
+    default List<BankAccount> findAllExpanded(Set<String> expand) {
+        return expand.contains(BankAccount_.USER) ? this.findAllWithToOneRelationships() : this.findAll();
+    }
+
+    default Optional<BankAccount> findOneExpanded(Long id, Set<String> expand) {
+        return expand.contains(BankAccount_.USER) ? this.findOneWithToOneRelationships(id) : this.findById(id);
+    }
+
     @Query(
         value = "select bankAccount from BankAccount bankAccount left join fetch bankAccount.user",
         countQuery = "select count(bankAccount) from BankAccount bankAccount"
@@ -40,4 +53,10 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
 
     @Query("select bankAccount from BankAccount bankAccount left join fetch bankAccount.user where bankAccount.id =:id")
     Optional<BankAccount> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select bankAccount from BankAccount bankAccount left join fetch bankAccount.user where bankAccount.user.login = :login")
+    List<BankAccount> findAllWithToOneRelationshipsByUserLogin(@Param("login") String login);
+
+    @Query("select bankAccount.user.login from BankAccount bankAccount where bankAccount.id = :id")
+    Optional<String> findUserLoginById(@Param("id") Long id);
 }
@@ -0,0 +1,21 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.BankAccount_;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface BankAccountRepositoryWithProjections {
+    Set<String> FIELDS = Set.of(BankAccount_.ID, BankAccount_.NAME, BankAccount_.BALANCE);
+
+    Set<String> RELATIONS = Set.of(BankAccount_.USER);
+
+    /**
+     * Select only some fields of the bank accounts, and of the relations to expand, without loading the entities.
+     *
+     * @param fields the {@link #FIELDS} to select, the id is always selected.
+     * @param expand the {@link #RELATIONS} to select too, the others are neither joined nor returned.
+     * @return the bank accounts, as maps of their fields.
+     */
+    List<Map<String, Object>> findAllFields(Set<String> fields, Set<String> expand);
+}
@@ -0,0 +1,62 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.BankAccount_;
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.domain.User_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility repository to select only some fields of the bank accounts, see {@link SparseFieldsets}.
+ */
+public class BankAccountRepositoryWithProjectionsImpl implements BankAccountRepositoryWithProjections {
+
+    private static final String BANK_ACCOUNT = "bankAccount";
+
+    private static final List<String> USER_FIELDS = List.of(User_.ID, User_.LOGIN);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields, Set<String> expand) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(BankAccount_.ID);
+        selected.addAll(fields);
+        boolean withUser = expand.contains(BankAccount_.USER);
+
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<BankAccount> bankAccount = query.from(BankAccount.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        SparseFieldsets.select(selections, bankAccount, selected, BANK_ACCOUNT);
+        if (withUser) {
+            Join<BankAccount, User> user = bankAccount.join(BankAccount_.user, JoinType.LEFT);
+            SparseFieldsets.select(selections, user, USER_FIELDS, BankAccount_.USER);
+        }
+        query.multiselect(selections);
+
+        List<Map<String, Object>> bankAccounts = new ArrayList<>();
+        for (Tuple tuple : SparseFieldsets.findPage(entityManager, query, bankAccount, Specification.where(null), Pageable.unpaged())) {
+            Map<String, Object> result = SparseFieldsets.toMap(tuple, selected, BANK_ACCOUNT);
+            if (withUser) {
+                result.put(BankAccount_.USER, SparseFieldsets.toMap(tuple, USER_FIELDS, BankAccount_.USER));
+            }
+            bankAccounts.add(result);
+        }
+        return bankAccounts;
+    }
+}
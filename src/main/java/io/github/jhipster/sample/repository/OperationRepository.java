@@ -1,8 +1,14 @@
 package io.github.jhipster.sample.repository;
 
 import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.Operation_;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -12,11 +18,16 @@ import org.springframework.stereotype.Repository;
 /**
  * Spring Data JPA repository for the Operation entity.
  *
- * When extending this class, extend OperationRepositoryWithBagRelationships too.
+ * When extending this class, extend OperationRepositoryWithBagRelationships and OperationRepositoryWithProjections too.
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface OperationRepository extends OperationRepositoryWithBagRelationships, JpaRepository<Operation, Long> {
+public interface OperationRepository
+    extends
+        OperationRepositoryWithBagRelationships,
+        OperationRepositoryWithProjections,
+        JpaRepository<Operation, Long>,
+        JpaSpecificationExecutor<Operation> {
     default Optional<Operation> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findOneWithToOneRelationships(id));
     }
@@ -29,6 +40,23 @@ public interface OperationRepository extends OperationRepositoryWithBagRelations
         return this.fetchBagRelationships(this.findAllWithToOneRelationships(pageable));
     }
 
+    /**
+     * Load the operations, joining only the given {@link #RELATIONS}: the others are left lazy and not serialized.
+     */
+    default Page<Operation> findAllExpanded(Set<String> expand, Pageable pageable) {
+        Page<Operation> operations = expand.contains(Operation_.BANK_ACCOUNT)
+            ? this.findAllWithToOneRelationships(pageable)
+            : this.findAll(pageable);
+        return expand.contains(Operation_.LABELS) ? this.fetchBagRelationships(operations) : operations;
+    }
+
+    default Optional<Operation> findOneExpanded(Long id, Set<String> expand) {
+        Optional<Operation> operation = expand.contains(Operation_.BANK_ACCOUNT)
+            ? this.findOneWithToOneRelationships(id)
+            : this.findById(id);
+        return expand.contains(Operation_.LABELS) ? this.fetchBagRelationships(operation) : operation;
+    }
+
     @Query(
         value = "select operation from Operation operation left join fetch operation.bankAccount",
         countQuery = "select count(operation) from Operation operation"
@@ -40,4 +68,97 @@ public interface OperationRepository extends OperationRepositoryWithBagRelations
 
     @Query("select operation from Operation operation left join fetch operation.bankAccount where operation.id =:id")
     Optional<Operation> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select operation from Operation operation left join fetch operation.bankAccount where operation.id in :ids")
+    List<Operation> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        "select operation from Operation operation left join fetch operation.bankAccount " +
+        "where operation.date < :before order by operation.date, operation.id"
+    )
+    List<Operation> findOldestWithToOneRelationships(@Param("before") Instant before, Limit limit);
+
+    /**
+     * Load the latest operations of a user, dated {@code since} or later.
+     * <p>
+     * The operation table is partitioned by month of the date on PostgreSQL: the date is compared as is to the bound, so
+     * that only the partitions of the recent months are scanned.
+     */
+    @Query(
+        "select operation from Operation operation left join fetch operation.bankAccount bankAccount " +
+        "where bankAccount.user.login = :login and operation.date >= :since order by operation.date desc, operation.id desc"
+    )
+    List<Operation> findLatestWithToOneRelationshipsByUserLogin(@Param("login") String login, @Param("since") Instant since, Limit limit);
+
+    /**
+     * Sum the amounts of the operations of a user dated {@code since} or later by label, from the database only: the
+     * archived operations are not counted. As for the latest operations, only the partitions of these months are scanned.
+     */
+    @Query(
+        "select label.id as labelId, label.label as label, sum(operation.amount) as total, count(operation) as operationCount " +
+        "from Operation operation join operation.labels label " +
+        "where operation.bankAccount.user.login = :login and operation.date >= :since group by label.id, label.label"
+    )
+    List<LabelTotal> sumAmountsByLabelForUserLogin(@Param("login") String login, @Param("since") Instant since);
+
+    /**
+     * Search the descriptions of the operations with the full-text search of PostgreSQL, the best ranked first.
+     * <p>
+     * The query is in the web search syntax: quoted phrases, {@code or}, and {@code -} before the excluded words. The
+     * operations following a previous page are the ones ranked below its last one, or ranked the same with a lower id.
+     * <p>
+     * The rank cannot be read from the index, so only the latest {@code candidates} matching operations are ranked, once,
+     * in a materialized CTE: each page reads and ranks up to that many operations, whatever its position, which only saves
+     * fetching and serializing the operations of the previous pages.
+     */
+    @Query(
+        value = "with hit as materialized (" +
+        "select candidate.id as id, ts_rank(candidate.description_tsv, websearch_to_tsquery('simple', :query)) as rank from (" +
+        "select operation.id as id, operation.description_tsv as description_tsv from operation " +
+        "where operation.description_tsv @@ websearch_to_tsquery('simple', :query) order by operation.id desc limit :candidates" +
+        ") candidate) " +
+        "select hit.id as id, hit.rank as rank from hit " +
+        "where cast(:rank as real) is null or (hit.rank, hit.id) < (cast(:rank as real), cast(:id as bigint)) " +
+        "order by hit.rank desc, hit.id desc",
+        nativeQuery = true
+    )
+    List<SearchHit> searchByDescription(
+        @Param("query") String query,
+        @Param("rank") Float rank,
+        @Param("id") Long id,
+        @Param("candidates") int candidates,
+        Limit limit
+    );
+
+    /**
+     * Search the descriptions of the operations matching a {@code like} pattern, escaped with {@code !}, the latest first,
+     * on the databases without full-text search.
+     */
+    @Query(
+        "select operation.id from Operation operation where lower(operation.description) like :pattern escape '!' " +
+        "and (:id is null or operation.id < :id) order by operation.id desc"
+    )
+    List<Long> findIdsByDescriptionLike(@Param("pattern") String pattern, @Param("id") Long id, Limit limit);
+
+    /**
+     * An operation found by a full-text search, with its rank.
+     */
+    interface SearchHit {
+        Long getId();
+
+        Float getRank();
+    }
+
+    /**
+     * Sum of the amounts of the operations carrying a given label.
+     */
+    interface LabelTotal {
+        Long getLabelId();
+
+        String getLabel();
+
+        BigDecimal getTotal();
+
+        Long getOperationCount();
+    }
 }
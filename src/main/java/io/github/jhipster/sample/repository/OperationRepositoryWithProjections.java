@@ -0,0 +1,32 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.Operation_;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface OperationRepositoryWithProjections {
+    Set<String> FIELDS = Set.of(Operation_.ID, Operation_.DATE, Operation_.DESCRIPTION, Operation_.AMOUNT);
+
+    Set<String> RELATIONS = Set.of(Operation_.BANK_ACCOUNT, Operation_.LABELS);
+
+    /**
+     * Select only some fields of the operations matching a specification, and of the relations to expand, without loading
+     * the entities.
+     *
+     * @param specification the specification the operations should match, without any fetch.
+     * @param fields the {@link #FIELDS} to select, the id is always selected.
+     * @param expand the {@link #RELATIONS} to select too, the others are neither joined nor returned.
+     * @param pageable the pagination information.
+     * @return the page of operations, as maps of their fields.
+     */
+    Page<Map<String, Object>> findAllFields(
+        Specification<Operation> specification,
+        Set<String> fields,
+        Set<String> expand,
+        Pageable pageable
+    );
+}
@@ -0,0 +1,100 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.BankAccount_;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Label_;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.Operation_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility repository to select only some fields of the operations, see {@link SparseFieldsets}.
+ */
+public class OperationRepositoryWithProjectionsImpl implements OperationRepositoryWithProjections {
+
+    private static final String OPERATION = "operation";
+
+    private static final List<String> BANK_ACCOUNT_FIELDS = List.of(BankAccount_.ID, BankAccount_.NAME, BankAccount_.BALANCE);
+
+    private static final List<String> LABEL_FIELDS = List.of(Label_.ID, Label_.LABEL);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findAllFields(
+        Specification<Operation> specification,
+        Set<String> fields,
+        Set<String> expand,
+        Pageable pageable
+    ) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(Operation_.ID);
+        selected.addAll(fields);
+        boolean withBankAccount = expand.contains(Operation_.BANK_ACCOUNT);
+
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<Operation> operation = query.from(Operation.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        SparseFieldsets.select(selections, operation, selected, OPERATION);
+        if (withBankAccount) {
+            Join<Operation, BankAccount> bankAccount = operation.join(Operation_.bankAccount, JoinType.LEFT);
+            SparseFieldsets.select(selections, bankAccount, BANK_ACCOUNT_FIELDS, Operation_.BANK_ACCOUNT);
+        }
+        query.multiselect(selections);
+        Page<Tuple> page = SparseFieldsets.findPage(entityManager, query, operation, specification, pageable);
+
+        Map<Object, Map<String, Object>> operations = new LinkedHashMap<>();
+        for (Tuple tuple : page) {
+            Map<String, Object> result = SparseFieldsets.toMap(tuple, selected, OPERATION);
+            if (withBankAccount) {
+                result.put(Operation_.BANK_ACCOUNT, SparseFieldsets.toMap(tuple, BANK_ACCOUNT_FIELDS, Operation_.BANK_ACCOUNT));
+            }
+            operations.put(result.get(Operation_.ID), result);
+        }
+        if (expand.contains(Operation_.LABELS) && !operations.isEmpty()) {
+            fetchLabels(operations);
+        }
+        return new PageImpl<>(new ArrayList<>(operations.values()), page.getPageable(), page.getTotalElements());
+    }
+
+    private void fetchLabels(Map<Object, Map<String, Object>> operations) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Operation> operation = query.from(Operation.class);
+        Join<Operation, Label> label = operation.join(Operation_.labels);
+        List<Selection<?>> selections = new ArrayList<>();
+        SparseFieldsets.select(selections, operation, List.of(Operation_.ID), OPERATION);
+        SparseFieldsets.select(selections, label, LABEL_FIELDS, Operation_.LABELS);
+        query.multiselect(selections).where(operation.get(Operation_.id).in(operations.keySet()));
+
+        Map<Object, List<Map<String, Object>>> labels = new LinkedHashMap<>();
+        operations.forEach((id, result) -> {
+            List<Map<String, Object>> operationLabels = new ArrayList<>();
+            labels.put(id, operationLabels);
+            result.put(Operation_.LABELS, operationLabels);
+        });
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            labels.get(tuple.get(OPERATION + "_" + Operation_.ID)).add(SparseFieldsets.toMap(tuple, LABEL_FIELDS, Operation_.LABELS));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.OutboxEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OutboxEmail entity.
+ */
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+    /**
+     * Lock the emails due, skipping the ones locked by another dispatch.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query(
+        "select outboxEmail from OutboxEmail outboxEmail" +
+        " where outboxEmail.attempts < :maxAttempts and outboxEmail.nextAttemptDate <= :now" +
+        " order by outboxEmail.nextAttemptDate, outboxEmail.id"
+    )
+    List<OutboxEmail> findAllDue(@Param("now") Instant now, @Param("maxAttempts") int maxAttempts, Limit limit);
+
+    @Modifying
+    @Query("delete from OutboxEmail outboxEmail where outboxEmail.createdDate < :before")
+    int deleteAllCreatedBefore(@Param("before") Instant before);
+}
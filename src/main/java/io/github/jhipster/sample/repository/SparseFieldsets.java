@@ -0,0 +1,86 @@
+package io.github.jhipster.sample.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Criteria helpers selecting only some columns of an entity, and of the relations joined to it, as JSON-ready maps.
+ */
+final class SparseFieldsets {
+
+    private SparseFieldsets() {}
+
+    /**
+     * Add the given attributes of an entity or of a joined relation to a selection, aliased with the relation name.
+     */
+    static void select(List<Selection<?>> selections, Path<?> path, Collection<String> fields, String relation) {
+        for (String field : fields) {
+            selections.add(path.get(field).alias(relation + "_" + field));
+        }
+    }
+
+    /**
+     * Read the attributes added with {@link #select}, or {@code null} when the relation was not set.
+     */
+    static Map<String, Object> toMap(Tuple tuple, Collection<String> fields, String relation) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        boolean found = false;
+        for (String field : fields) {
+            Object value = tuple.get(relation + "_" + field);
+            found |= value != null;
+            result.put(field, value);
+        }
+        return found ? result : null;
+    }
+
+    /**
+     * Run a tuple query for a page of the entities matching the specification, ordered as requested, counting the entities
+     * only when the page is full.
+     */
+    static <T> Page<Tuple> findPage(
+        EntityManager entityManager,
+        CriteriaQuery<Tuple> query,
+        Root<T> root,
+        Specification<T> specification,
+        Pageable pageable
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(typedQuery.getResultList());
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<T> countRoot = countQuery.from(root.getModel());
+            Predicate countPredicate = specification.toPredicate(countRoot, countQuery, cb);
+            if (countPredicate != null) {
+                countQuery.where(countPredicate);
+            }
+            countQuery.select(cb.count(countRoot));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+}
@@ -2,12 +2,16 @@ package io.github.jhipster.sample.repository;
 
 import io.github.jhipster.sample.domain.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,19 +22,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
     String USERS_BY_LOGIN_CACHE = "usersByLogin";
 
     String USERS_BY_EMAIL_CACHE = "usersByEmail";
-    Optional<User> findOneByActivationKey(String activationKey);
-    List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
-    Optional<User> findOneByResetKey(String resetKey);
+
+    default Optional<User> findOneByActivationKey(String activationKey) {
+        return Optional.ofNullable(activationKey).flatMap(key -> this.findOneByActivationKeyHash(User.hashKey(key)));
+    }
+
+    Optional<User> findOneByActivationKeyHash(String activationKeyHash);
+
+    @Query(
+        "select user from User user where user.activated = false and user.activationKeyHash is not null and user.createdDate < :dateTime"
+    )
+    List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(@Param("dateTime") Instant dateTime);
+
+    @Query(
+        "select user.id as id, user.login as login, user.email as email from User user" +
+        " where user.activated = false and user.activationKeyHash is not null and user.createdDate < :dateTime order by user.id"
+    )
+    List<UserCacheKeys> findCacheKeysOfNotActivatedUsersCreatedBefore(@Param("dateTime") Instant dateTime, Limit limit);
+
+    @Modifying
+    @Query(value = "delete from jhi_user_authority where user_id in (:ids)", nativeQuery = true)
+    int deleteAuthoritiesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    default Optional<User> findOneByResetKey(String resetKey) {
+        return Optional.ofNullable(resetKey).flatMap(key -> this.findOneByResetKeyHash(User.hashKey(key)));
+    }
+
+    Optional<User> findOneByResetKeyHash(String resetKeyHash);
+
     Optional<User> findOneByEmailIgnoreCase(String email);
     Optional<User> findOneByLogin(String login);
 
     @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, unless = "#result == null")
+    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, sync = true, cacheResolver = "singleFlightCacheResolver")
     Optional<User> findOneWithAuthoritiesByLogin(String login);
 
     @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, unless = "#result == null")
+    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, sync = true, cacheResolver = "singleFlightCacheResolver")
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    /**
+     * The columns of a {@link User} needed to evict it from the caches.
+     */
+    interface UserCacheKeys {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,13 @@
+package io.github.jhipster.sample.service;
+
+/**
+ * Thrown when archived operations are read in an order which the index of the archive cannot follow.
+ */
+public class ArchiveSortUnsupportedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ArchiveSortUnsupportedException(String property) {
+        super("The archived operations can only be sorted by date or id first, not by " + property);
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.service.criteria.OperationCriteria;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Match the archived operations against an {@link OperationCriteria}, in memory, as {@link OperationQueryService} does in
+ * the database: an {@code equals} or {@code in} condition is the only one applied, a {@code null} value only matches
+ * {@code specified=false}, the strings are contained ignoring the case, and the labels match when one of them does.
+ */
+final class ArchivedOperationCriteria {
+
+    private ArchivedOperationCriteria() {}
+
+    /**
+     * @return whether the criteria filter the operations at all.
+     */
+    static boolean isFiltered(OperationCriteria criteria) {
+        return criteria != null && !criteria.equals(new OperationCriteria());
+    }
+
+    /**
+     * @return whether the criteria only match the operations from a date on, which may be archived ones.
+     */
+    static boolean hasDateLowerBound(OperationCriteria criteria) {
+        InstantFilter date = criteria != null ? criteria.getDate() : null;
+        return (
+            date != null &&
+            (date.getEquals() != null || date.getIn() != null || date.getGreaterThan() != null || date.getGreaterThanOrEqual() != null)
+        );
+    }
+
+    /**
+     * Whether a segment may hold operations matching the criteria, from the ranges of its index and the bank accounts of its
+     * operations, when they are known.
+     *
+     * @param bankAccountIds the ids of the bank accounts of the operations of the segment, or {@code null} if not known yet.
+     */
+    static boolean mayMatch(
+        OperationCriteria criteria,
+        Instant minDate,
+        Instant maxDate,
+        long minId,
+        long maxId,
+        Set<Long> bankAccountIds
+    ) {
+        return (
+            mayMatch(criteria.getDate(), minDate, maxDate) &&
+            mayMatch(criteria.getId(), minId, maxId) &&
+            (bankAccountIds == null || bankAccountIds.stream().anyMatch(id -> matches(criteria.getBankAccountId(), id)))
+        );
+    }
+
+    static boolean matches(OperationCriteria criteria, Operation operation) {
+        return (
+            matches(criteria.getId(), operation.getId()) &&
+            matches(criteria.getDate(), operation.getDate()) &&
+            matches(criteria.getDescription(), operation.getDescription()) &&
+            matches(criteria.getAmount(), operation.getAmount()) &&
+            matches(criteria.getBankAccountId(), operation.getBankAccount() != null ? operation.getBankAccount().getId() : null) &&
+            matchesLabels(criteria.getLabelId(), operation.getLabels())
+        );
+    }
+
+    private static boolean matchesLabels(LongFilter filter, Collection<Label> labels) {
+        if (filter == null) {
+            return true;
+        }
+        boolean labelled = labels != null && !labels.isEmpty();
+        if (Boolean.FALSE.equals(filter.getSpecified())) {
+            return !labelled;
+        }
+        LongFilter labelFilter = filter.copy();
+        labelFilter.setSpecified(null);
+        return labelled && labels.stream().anyMatch(label -> matches(labelFilter, label.getId()));
+    }
+
+    private static <T> boolean matches(Filter<T> filter, T value) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getEquals() != null) {
+            return same(filter.getEquals(), value);
+        }
+        if (filter.getIn() != null) {
+            return filter.getIn().stream().anyMatch(in -> same(in, value));
+        }
+        if (filter.getSpecified() != null && filter.getSpecified() != (value != null)) {
+            return false;
+        }
+        if (value == null) {
+            // as in SQL, no other condition holds for a null value
+            return (
+                filter.getNotEquals() == null &&
+                filter.getNotIn() == null &&
+                !(filter instanceof RangeFilter<?> range && hasBounds(range)) &&
+                !(filter instanceof StringFilter string && (string.getContains() != null || string.getDoesNotContain() != null))
+            );
+        }
+        if (filter.getNotEquals() != null && same(filter.getNotEquals(), value)) {
+            return false;
+        }
+        if (filter.getNotIn() != null && filter.getNotIn().stream().anyMatch(notIn -> same(notIn, value))) {
+            return false;
+        }
+        if (filter instanceof RangeFilter<?> range && !within(range, value)) {
+            return false;
+        }
+        if (filter instanceof StringFilter string) {
+            String upper = value.toString().toUpperCase();
+            if (string.getContains() != null && !upper.contains(string.getContains().toUpperCase())) {
+                return false;
+            }
+            return string.getDoesNotContain() == null || !upper.contains(string.getDoesNotContain().toUpperCase());
+        }
+        return true;
+    }
+
+    /**
+     * Whether values between the bounds of a segment may match a range filter.
+     */
+    private static boolean mayMatch(RangeFilter<?> filter, Object min, Object max) {
+        if (filter == null) {
+            return true;
+        }
+        if (Boolean.FALSE.equals(filter.getSpecified())) {
+            return false;
+        }
+        if (filter.getEquals() != null) {
+            return compare(filter.getEquals(), min) >= 0 && compare(filter.getEquals(), max) <= 0;
+        }
+        if (filter.getIn() != null) {
+            return filter.getIn().stream().anyMatch(in -> compare(in, min) >= 0 && compare(in, max) <= 0);
+        }
+        return (
+            (filter.getGreaterThan() == null || compare(max, filter.getGreaterThan()) > 0) &&
+            (filter.getGreaterThanOrEqual() == null || compare(max, filter.getGreaterThanOrEqual()) >= 0) &&
+            (filter.getLessThan() == null || compare(min, filter.getLessThan()) < 0) &&
+            (filter.getLessThanOrEqual() == null || compare(min, filter.getLessThanOrEqual()) <= 0)
+        );
+    }
+
+    private static boolean hasBounds(RangeFilter<?> filter) {
+        return (
+            filter.getGreaterThan() != null ||
+            filter.getGreaterThanOrEqual() != null ||
+            filter.getLessThan() != null ||
+            filter.getLessThanOrEqual() != null
+        );
+    }
+
+    private static boolean within(RangeFilter<?> filter, Object value) {
+        return (
+            (filter.getGreaterThan() == null || compare(value, filter.getGreaterThan()) > 0) &&
+            (filter.getGreaterThanOrEqual() == null || compare(value, filter.getGreaterThanOrEqual()) >= 0) &&
+            (filter.getLessThan() == null || compare(value, filter.getLessThan()) < 0) &&
+            (filter.getLessThanOrEqual() == null || compare(value, filter.getLessThanOrEqual()) <= 0)
+        );
+    }
+
+    /**
+     * Compare as the database does: {@code 1.0} and {@code 1.00} are the same amount.
+     */
+    private static boolean same(Object expected, Object value) {
+        if (expected instanceof BigDecimal && value instanceof BigDecimal) {
+            return compare(expected, value) == 0;
+        }
+        return Objects.equals(expected, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object value, Object other) {
+        return ((Comparable<Object>) value).compareTo(other);
+    }
+}
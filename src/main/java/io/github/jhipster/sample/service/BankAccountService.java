@@ -0,0 +1,77 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.service.dto.BankAccountDTO;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service for the bank accounts of the users, cached per login.
+ * <p>
+ * The accounts are cached as {@link BankAccountDTO}s, not as entities which would be shared by the persistence contexts
+ * of the readers. The write paths evict the accounts of the owners they touch once their transaction is committed, as a
+ * concurrent read may cache the accounts again before.
+ */
+@Service
+public class BankAccountService {
+
+    public static final String BANK_ACCOUNTS_BY_USER_CACHE = "bankAccountsByUser";
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankAccountService.class);
+
+    private final BankAccountRepository bankAccountRepository;
+
+    private final CacheManager cacheManager;
+
+    public BankAccountService(BankAccountRepository bankAccountRepository, CacheManager cacheManager) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the bank accounts of a user, with the user.
+     *
+     * @param login the login of the user.
+     * @return the bank accounts of the user.
+     */
+    @Cacheable(cacheNames = BANK_ACCOUNTS_BY_USER_CACHE, sync = true, cacheResolver = "singleFlightCacheResolver")
+    @Transactional(readOnly = true)
+    public List<BankAccountDTO> findAllByUserLogin(String login) {
+        LOG.debug("Request to get the BankAccounts of User : {}", login);
+        return bankAccountRepository.findAllWithToOneRelationshipsByUserLogin(login).stream().map(BankAccountDTO::new).toList();
+    }
+
+    /**
+     * Evict the cached bank accounts of some users, once the current transaction is committed, or right away without one.
+     *
+     * @param logins the logins of the users.
+     */
+    public void clearBankAccountsByUserCache(Collection<String> logins) {
+        if (logins.isEmpty()) {
+            return;
+        }
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(BANK_ACCOUNTS_BY_USER_CACHE));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            logins.forEach(cache::evictIfPresent);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    logins.forEach(cache::evictIfPresent);
+                }
+            }
+        );
+    }
+}
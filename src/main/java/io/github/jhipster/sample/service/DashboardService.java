@@ -0,0 +1,163 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.aop.workload.WorkloadContext;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.service.dto.AdminUserDTO;
+import io.github.jhipster.sample.service.dto.BankAccountDTO;
+import io.github.jhipster.sample.service.dto.DashboardDTO;
+import io.github.jhipster.sample.service.dto.LabelTotalDTO;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service building the current user's dashboard.
+ * <p>
+ * Each part of the dashboard is loaded concurrently on the bounded {@code dashboardTaskExecutor}, in its own read-only
+ * transaction on the connection pool of the {@link Workload#REPORTING} workload, and is given up on after
+ * {@code application.dashboard.part-timeout}, or right away when the executor is saturated. The latest operations are only searched within
+ * {@code application.dashboard.latest-operations-period}, and the label totals only sum the operations of
+ * {@code application.dashboard.label-totals-period}, from the database only, not the archived ones.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardService.class);
+
+    private final UserRepository userRepository;
+
+    private final BankAccountService bankAccountService;
+
+    private final OperationRepository operationRepository;
+
+    private final Executor dashboardTaskExecutor;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ApplicationProperties.Dashboard dashboardProperties;
+
+    public DashboardService(
+        UserRepository userRepository,
+        BankAccountService bankAccountService,
+        OperationRepository operationRepository,
+        @Qualifier("dashboardTaskExecutor") Executor dashboardTaskExecutor,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userRepository = userRepository;
+        this.bankAccountService = bankAccountService;
+        this.operationRepository = operationRepository;
+        this.dashboardTaskExecutor = dashboardTaskExecutor;
+        this.dashboardProperties = applicationProperties.getDashboard();
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Get the dashboard of the given user.
+     *
+     * @param login the login of the user.
+     * @return the dashboard, with the parts that could not be loaded in time listed as unavailable.
+     */
+    public DashboardDTO getDashboard(String login) {
+        LOG.debug("Building dashboard for User: {}", login);
+        CompletableFuture<AdminUserDTO> account = submit(() ->
+            userRepository.findOneWithAuthoritiesByLogin(login).map(AdminUserDTO::new).orElse(null)
+        );
+        CompletableFuture<List<BankAccountDTO>> bankAccounts = submit(() -> bankAccountService.findAllByUserLogin(login));
+        CompletableFuture<List<Operation>> latestOperations = submit(() -> findLatestOperations(login));
+        CompletableFuture<List<LabelTotalDTO>> labelTotals = submit(() ->
+            operationRepository
+                .sumAmountsByLabelForUserLogin(login, Instant.now().minus(dashboardProperties.getLabelTotalsPeriod()))
+                .stream()
+                .map(total -> new LabelTotalDTO(total.getLabelId(), total.getLabel(), total.getTotal(), total.getOperationCount()))
+                .toList()
+        );
+
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setAccount(join(DashboardDTO.ACCOUNT_PART, account, dashboard));
+        dashboard.setBankAccounts(join(DashboardDTO.BANK_ACCOUNTS_PART, bankAccounts, dashboard));
+        if (dashboard.getBankAccounts() != null) {
+            dashboard.setTotalBalance(
+                dashboard.getBankAccounts().stream().map(BankAccountDTO::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add)
+            );
+        }
+        dashboard.setLatestOperations(join(DashboardDTO.LATEST_OPERATIONS_PART, latestOperations, dashboard));
+        dashboard.setLabelTotals(join(DashboardDTO.LABEL_TOTALS_PART, labelTotals, dashboard));
+        return dashboard;
+    }
+
+    private List<Operation> findLatestOperations(String login) {
+        List<Operation> operations = operationRepository.findLatestWithToOneRelationshipsByUserLogin(
+            login,
+            Instant.now().minus(dashboardProperties.getLatestOperationsPeriod()),
+            Limit.of(dashboardProperties.getLatestOperations())
+        );
+        if (operations.isEmpty()) {
+            return operations;
+        }
+        return operationRepository.fetchBagRelationships(operations);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        Duration timeout = dashboardProperties.getPartTimeout();
+        Instant deadline = Instant.now().plus(timeout);
+        try {
+            return CompletableFuture.supplyAsync(
+                () ->
+                    WorkloadContext.call(Workload.REPORTING, "DashboardService.getDashboard", () ->
+                        readOnlyTransactionTemplate(deadline).execute(status -> query.get())
+                    ),
+                dashboardTaskExecutor
+            ).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the part is not run on the request thread instead, where it could not be given up on after its timeout
+            return CompletableFuture.failedFuture(new TimeoutException("Dashboard part rejected by the saturated executor"));
+        }
+    }
+
+    /**
+     * The transaction timeout is applied to the JDBC statements, so that a part given up on also releases its connection.
+     * It only counts once the part has left the queue of the executor, so it is given what remains until the deadline of
+     * the part, rounded up to the second as JDBC query timeouts are.
+     */
+    private TransactionTemplate readOnlyTransactionTemplate(Instant deadline) {
+        long remaining = Duration.between(Instant.now(), deadline).toMillis();
+        if (remaining <= 0) {
+            throw new CompletionException(new TimeoutException("Dashboard part queued past its deadline"));
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout((int) ((remaining + 999) / 1000));
+        return transactionTemplate;
+    }
+
+    private <T> T join(String part, CompletableFuture<T> future, DashboardDTO dashboard) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            LOG.warn("Dashboard part {} is unavailable: {}", part, e.getMessage());
+            dashboard.getUnavailableParts().add(part);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.jhipster.sample.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.config.PrimaryReads;
+import io.github.jhipster.sample.config.ReadReplicaDataSource;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the JSON responses of the hot entity reads, serialized once and written as is by the next requests.
+ * <p>
+ * Unlike the Hibernate second-level cache, a hit neither rehydrates the entity nor runs Jackson. The write paths of the
+ * entities evict the responses which include them, once again after their transaction is committed, and a response
+ * serialized while such an eviction happened is not kept, so a reader never caches what a writer is replacing.
+ * <p>
+ * The responses are cached on each node, and evicted on the node running the write only: the other nodes may serve a
+ * stale response until it expires, after {@code application.response-cache.time-to-live}. The entities are loaded from the
+ * primary database, see {@link PrimaryReads}, and not cached when their transaction was already reading from a replica.
+ */
+@Service
+public class JsonResponseCache {
+
+    public static final String BANK_ACCOUNTS_CACHE = "bankAccountResponses";
+
+    public static final String OPERATIONS_CACHE = "operationResponses";
+
+    public static final String LABELS_CACHE = "labelResponses";
+
+    private final CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, AtomicLong> evictions = new ConcurrentHashMap<>();
+
+    public JsonResponseCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get the JSON of an entity, serializing it on a miss.
+     *
+     * @param cacheName the cache of the entity responses.
+     * @param id the id of the entity.
+     * @param loader the load of the entity, as returned by the API.
+     * @return the JSON of the entity, or empty if it does not exist.
+     */
+    public Optional<byte[]> get(String cacheName, Object id, Supplier<? extends Optional<?>> loader) {
+        Cache cache = getCache(cacheName);
+        byte[] cached = cache.get(id, byte[].class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        AtomicLong cacheEvictions = evictions(cacheName);
+        long evicted = cacheEvictions.get();
+        Optional<byte[]> json = PrimaryReads.call(loader).map(this::serialize);
+        if (ReadReplicaDataSource.isCurrentTransactionOnReplica()) {
+            return json;
+        }
+        json.ifPresent(bytes -> {
+            cache.put(id, bytes);
+            if (cacheEvictions.get() != evicted) {
+                cache.evict(id);
+            }
+        });
+        return json;
+    }
+
+    /**
+     * Evict the response of an entity, now and after the commit of the current transaction.
+     *
+     * @param cacheName the cache of the entity responses.
+     * @param id the id of the entity.
+     */
+    public void evict(String cacheName, Object id) {
+        applyEviction(cacheName, cache -> cache.evict(id));
+    }
+
+    /**
+     * Evict all the responses of a cache, now and after the commit of the current transaction.
+     *
+     * @param cacheName the cache of the entity responses.
+     */
+    public void clear(String cacheName) {
+        applyEviction(cacheName, Cache::clear);
+    }
+
+    private void applyEviction(String cacheName, Consumer<Cache> eviction) {
+        Cache cache = getCache(cacheName);
+        AtomicLong cacheEvictions = evictions(cacheName);
+        cacheEvictions.incrementAndGet();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cacheEvictions.incrementAndGet();
+                        eviction.accept(cache);
+                    }
+                }
+            );
+        }
+    }
+
+    private byte[] serialize(Object entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize " + entity, e);
+        }
+    }
+
+    private AtomicLong evictions(String cacheName) {
+        return evictions.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private Cache getCache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName));
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.OutboxEmail;
+import io.github.jhipster.sample.repository.OutboxEmailRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service sending the emails queued in the {@link OutboxEmail} table.
+ * <p>
+ * Emails are sent in batches of {@code application.mail-outbox.batch-size}, each batch over a single SMTP connection.
+ * Emails which could not be sent are retried with an exponential backoff, up to {@code application.mail-outbox.max-attempts}.
+ * The emails of a batch are claimed under a row lock skipping the emails claimed by another dispatch, so that an email is
+ * only sent once even when several nodes dispatch the outbox at the same time.
+ * <p>
+ * The content of an email may hold an activation or a reset key: it is cleared once the email is given up on, and the
+ * emails older than {@code application.mail-outbox.retention} are purged.
+ */
+@Service
+public class MailDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailOutbox mailOutboxProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MailDispatcher(
+        OutboxEmailRepository outboxEmailRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.mailOutboxProperties = applicationProperties.getMailOutbox();
+        // the dispatch may be requested right after a commit, while the committed transaction is still bound to the thread
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Send all the emails of the outbox which are due, batch after batch.
+     * <p>
+     * This is called right after emails are queued, and scheduled to catch up on retries.
+     */
+    @Scheduled(cron = "${application.mail-outbox.dispatch-cron:*/10 * * * * *}")
+    @SchedulerLock(name = "dispatchPendingEmails", lockAtMostFor = "${application.mail-outbox.lock-at-most-for:PT5M}")
+    @Workload(Workload.BATCH)
+    public void dispatchPendingEmails() {
+        int batchSize = mailOutboxProperties.getBatchSize();
+        int dispatched;
+        do {
+            dispatched = dispatchBatch(batchSize);
+        } while (dispatched == batchSize);
+    }
+
+    /**
+     * Purge the emails of the outbox older than the retention, sent or not.
+     * <p>
+     * This is scheduled to be run every night, on a single node of the cluster.
+     */
+    @Scheduled(cron = "${application.mail-outbox.purge-cron:0 30 2 * * ?}")
+    @SchedulerLock(name = "purgeOutboxEmails", lockAtMostFor = "${application.mail-outbox.lock-at-most-for:PT5M}")
+    @Workload(Workload.BATCH)
+    public void purgeOldEmails() {
+        Instant before = Instant.now().minus(mailOutboxProperties.getRetention());
+        Integer purged = transactionTemplate.execute(status -> outboxEmailRepository.deleteAllCreatedBefore(before));
+        LOG.debug("Purged {} emails queued before {}", purged, before);
+    }
+
+    private int dispatchBatch(int batchSize) {
+        // the emails are claimed until they are sent, so that they are neither read by another dispatch meanwhile, nor
+        // lost if this node stops before
+        List<OutboxEmail> emails = Objects.requireNonNull(
+            transactionTemplate.execute(status -> {
+                Instant now = Instant.now();
+                List<OutboxEmail> due = outboxEmailRepository.findAllDue(now, mailOutboxProperties.getMaxAttempts(), Limit.of(batchSize));
+                due.forEach(email -> email.setNextAttemptDate(now.plus(mailOutboxProperties.getClaimDuration())));
+                return due;
+            })
+        );
+        if (emails.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, OutboxEmail> emailsByMessage = new LinkedHashMap<>();
+        Map<OutboxEmail, Exception> failures = new LinkedHashMap<>();
+        for (OutboxEmail email : emails) {
+            try {
+                emailsByMessage.put(createMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+        if (!emailsByMessage.isEmpty()) {
+            LOG.debug("Sending a batch of {} emails", emailsByMessage.size());
+            try {
+                javaMailSender.send(emailsByMessage.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                // failed messages are not reported when the connection to the SMTP server could not be opened
+                if (CollectionUtils.isEmpty(e.getFailedMessages())) {
+                    emailsByMessage.values().forEach(email -> failures.put(email, e));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> failures.put(emailsByMessage.get(message), cause));
+                }
+            } catch (MailException e) {
+                emailsByMessage.values().forEach(email -> failures.put(email, e));
+            }
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        emails.stream().filter(email -> !failures.containsKey(email)).forEach(email -> sentIds.add(email.getId()));
+        failures.forEach(this::recordFailure);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEmailRepository.deleteAllByIdInBatch(sentIds);
+            outboxEmailRepository.saveAll(failures.keySet());
+        });
+        LOG.debug("Sent {} emails, {} will be retried", sentIds.size(), failures.size());
+        return emails.size();
+    }
+
+    private MimeMessage createMimeMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, email.getMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(email.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(email.getSubject());
+        message.setText(email.getContent(), email.getHtml());
+        return mimeMessage;
+    }
+
+    private void recordFailure(OutboxEmail email, Exception cause) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(StringUtils.abbreviate(cause.toString(), OutboxEmail.LAST_ERROR_MAX_LENGTH));
+        if (attempts >= mailOutboxProperties.getMaxAttempts()) {
+            // the content may hold a key, which must not be kept once it will never be sent
+            email.setContent("");
+            LOG.error("Email could not be sent to '{}' after {} attempts, giving up", email.getRecipient(), attempts, cause);
+            return;
+        }
+        Duration backoff = mailOutboxProperties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        if (backoff.compareTo(mailOutboxProperties.getMaxBackoff()) > 0) {
+            backoff = mailOutboxProperties.getMaxBackoff();
+        }
+        email.setNextAttemptDate(Instant.now().plus(backoff));
+        LOG.warn("Email could not be sent to '{}', retrying in {}", email.getRecipient(), backoff, cause);
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.domain.User;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service rendering the mail templates.
+ * <p>
+ * Each template is processed once per locale, with a placeholder in place of each {@link User} field, and split around
+ * those placeholders. Rendering an email for a user then only concatenates the cached fragments with the user's fields.
+ * Users whose fields would need escaping, or are {@code null}, are rendered by the {@link SpringTemplateEngine} as usual.
+ * <p>
+ * The cache follows {@code spring.thymeleaf.cache}, so that templates are reloaded in development.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    /**
+     * Values which are rendered the same way by Thymeleaf in text, attributes, messages and URLs.
+     */
+    private static final Pattern VERBATIM_VALUE = Pattern.compile("[A-Za-z0-9_.@-]*");
+
+    private static final List<UserField> USER_FIELDS = List.of(
+        new UserField(User::getLogin, User::setLogin),
+        new UserField(User::getFirstName, User::setFirstName),
+        new UserField(User::getLastName, User::setLastName),
+        new UserField(User::getEmail, User::setEmail),
+        new UserField(User::getImageUrl, User::setImageUrl),
+        new UserField(User::getActivationKey, User::setActivationKey),
+        new UserField(User::getResetKey, User::setResetKey)
+    );
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final boolean cacheEnabled;
+
+    private final ConcurrentMap<TemplateKey, CompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(
+        SpringTemplateEngine templateEngine,
+        MessageSource messageSource,
+        JHipsterProperties jHipsterProperties,
+        @Value("${spring.thymeleaf.cache:true}") boolean cacheEnabled
+    ) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.jHipsterProperties = jHipsterProperties;
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    /**
+     * Render an email for a user, in the user's language.
+     *
+     * @param user the recipient.
+     * @param templateName the Thymeleaf template of the content.
+     * @param titleKey the message key of the subject.
+     * @return the subject and the content of the email.
+     */
+    public RenderedEmail render(User user, String templateName, String titleKey) {
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        if (!cacheEnabled) {
+            return new RenderedEmail(messageSource.getMessage(titleKey, null, locale), process(templateName, locale, user));
+        }
+        CompiledTemplate compiledTemplate = compiledTemplates.computeIfAbsent(
+            new TemplateKey(templateName, titleKey, locale),
+            this::compile
+        );
+        String content = compiledTemplate.fill(user);
+        if (content == null) {
+            content = process(templateName, locale, user);
+        }
+        return new RenderedEmail(compiledTemplate.subject(), content);
+    }
+
+    private String process(String templateName, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    private CompiledTemplate compile(TemplateKey key) {
+        LOG.debug("Compiling mail template '{}' for locale '{}'", key.templateName(), key.locale());
+        Map<String, UserField> fieldsByPlaceholder = new LinkedHashMap<>();
+        User placeholderUser = new User();
+        placeholderUser.setLangKey(key.locale().toLanguageTag());
+        for (UserField field : USER_FIELDS) {
+            // lower case, as User#setLogin lower-cases its value
+            String placeholder = "mailfield" + RandomStringUtils.secure().nextAlphanumeric(16).toLowerCase(Locale.ROOT);
+            fieldsByPlaceholder.put(placeholder, field);
+            field.setter().accept(placeholderUser, placeholder);
+        }
+        String rendered = process(key.templateName(), key.locale(), placeholderUser);
+
+        List<String> fragments = new ArrayList<>();
+        List<Function<User, String>> fields = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int next = -1;
+            String nextPlaceholder = null;
+            for (String placeholder : fieldsByPlaceholder.keySet()) {
+                int index = rendered.indexOf(placeholder, start);
+                if (index >= 0 && (next < 0 || index < next)) {
+                    next = index;
+                    nextPlaceholder = placeholder;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            fragments.add(rendered.substring(start, next));
+            fields.add(fieldsByPlaceholder.get(nextPlaceholder).getter());
+            start = next + nextPlaceholder.length();
+        }
+        fragments.add(rendered.substring(start));
+        return new CompiledTemplate(
+            messageSource.getMessage(key.titleKey(), null, key.locale()),
+            fragments.toArray(String[]::new),
+            fields,
+            rendered.length()
+        );
+    }
+
+    /**
+     * The subject and the content of a rendered email.
+     */
+    public record RenderedEmail(String subject, String content) {}
+
+    private record UserField(Function<User, String> getter, BiConsumer<User, String> setter) {}
+
+    private record TemplateKey(String templateName, String titleKey, Locale locale) {}
+
+    private record CompiledTemplate(String subject, String[] fragments, List<Function<User, String>> fields, int length) {
+        /**
+         * @return the content for the user, or {@code null} if one of the user's fields can't be inserted verbatim.
+         */
+        String fill(User user) {
+            StringBuilder content = new StringBuilder(length);
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i).apply(user);
+                if (value == null || !VERBATIM_VALUE.matcher(value).matches()) {
+                    return null;
+                }
+                content.append(fragments[i]).append(value);
+            }
+            return content.append(fragments[fragments.length - 1]).toString();
+        }
+    }
+}
@@ -0,0 +1,716 @@
+package io.github.jhipster.sample.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.Operation_;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.service.criteria.OperationCriteria;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service moving the operations of closed periods out of the database, into the archive tier, and reading both tiers.
+ * <p>
+ * The operations older than the month of {@code application.operation-archive.archive-after} are written, with their bank
+ * account and labels, to gzipped JSON lines segments of at most {@code application.operation-archive.segment-size}
+ * operations, in {@code application.operation-archive.directory}, and deleted from the database. A segment is never
+ * modified once written. Its name holds the index of the segment: the min and max dates of its operations, their min and
+ * max ids, and the number of operations, so that reads only open the segments they need. This index is kept in memory,
+ * reloaded once a segment is written, and every {@code application.operation-archive.index-refresh-cron} for the segments
+ * written by the other nodes. The bank accounts of the operations of a segment are kept once it is read, to skip it when
+ * reading the operations of another bank account.
+ * <p>
+ * The reads of the operations only read the archive when asked to, or when their dates are bounded from below, so that
+ * the usual reads of the recent operations never open a segment.
+ * <p>
+ * A segment is written as pending, and only renamed once the deletion of its operations is committed. The pending segments
+ * left by a crash are resolved by the next archival.
+ */
+@Service
+public class OperationArchiveService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OperationArchiveService.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("operations-(\\d+)-(\\d+)-(\\d+)-(\\d+)-(\\d+)\\.jsonl\\.gz");
+
+    private static final String PENDING_SUFFIX = ".pending";
+
+    private final OperationRepository operationRepository;
+
+    private final OperationQueryService operationQueryService;
+
+    private final JsonResponseCache jsonResponseCache;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.OperationArchive operationArchiveProperties;
+
+    /**
+     * The ids of the bank accounts of the operations of each segment read, to skip the segments of other bank accounts: the
+     * segments are never modified.
+     */
+    private final Map<Path, Set<Long>> segmentBankAccountIds = new ConcurrentHashMap<>();
+
+    private volatile SegmentIndex segmentIndex;
+
+    public OperationArchiveService(
+        OperationRepository operationRepository,
+        OperationQueryService operationQueryService,
+        JsonResponseCache jsonResponseCache,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.operationRepository = operationRepository;
+        this.operationQueryService = operationQueryService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.operationArchiveProperties = applicationProperties.getOperationArchive();
+    }
+
+    /**
+     * Archive the operations of the closed periods, segment after segment.
+     * <p>
+     * This is scheduled to be run every night, on a single node of the cluster.
+     */
+    @Scheduled(cron = "${application.operation-archive.archive-cron:0 0 3 * * ?}")
+    @SchedulerLock(name = "archiveOperations", lockAtMostFor = "${application.operation-archive.lock-at-most-for:PT2H}")
+    @Workload(Workload.BATCH)
+    public void archiveClosedPeriods() {
+        if (!operationArchiveProperties.isEnabled()) {
+            return;
+        }
+        resolvePendingSegments();
+        Instant before = YearMonth.from(Instant.now().minus(operationArchiveProperties.getArchiveAfter()).atZone(ZoneOffset.UTC))
+            .atDay(1)
+            .atStartOfDay(ZoneOffset.UTC)
+            .toInstant();
+        int segmentSize = operationArchiveProperties.getSegmentSize();
+        int archived;
+        do {
+            archived = Objects.requireNonNull(transactionTemplate.execute(status -> archiveSegment(before, segmentSize)));
+        } while (archived == segmentSize);
+    }
+
+    private int archiveSegment(Instant before, int segmentSize) {
+        List<Operation> operations = operationRepository.fetchBagRelationships(
+            operationRepository.findOldestWithToOneRelationships(before, Limit.of(segmentSize))
+        );
+        if (operations.isEmpty()) {
+            return 0;
+        }
+        Path pending = writePendingSegment(operations);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // a concurrent read may have cached an operation again before the deletion was committed
+                    evict(operations);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        commitSegment(pending);
+                    } else {
+                        deleteSegment(pending);
+                    }
+                }
+            }
+        );
+        evict(operations);
+        operationRepository.deleteAll(operations);
+        LOG.info("Archived {} operations to {}", operations.size(), pending.getFileName());
+        return operations.size();
+    }
+
+    private void evict(List<Operation> operations) {
+        operations.forEach(operation -> jsonResponseCache.evict(JsonResponseCache.OPERATIONS_CACHE, operation.getId()));
+    }
+
+    /**
+     * Get a page of the operations of both tiers matching the criteria: the database, and the archive.
+     * <p>
+     * The operations of the database are returned first when the page is not sorted. A sorted page must be sorted by date
+     * or id first: the archived operations are then merged with the ones of the database only where the ranges of dates or
+     * ids of their segments overlap. Without criteria, the segments before the page are counted from their index without
+     * being read, and the operations of the database are read from the first one which may be in the page. With criteria,
+     * only the segments whose index and bank accounts may match them are read, to count their matching operations.
+     *
+     * @param criteria the criteria which the operations should match.
+     * @param archived whether to read the archive even though the dates of the criteria are not bounded from below.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @param pageable the pagination information.
+     * @return the page of operations.
+     * @throws ArchiveSortUnsupportedException if archived operations match and the page is sorted by another property first.
+     */
+    public Page<Operation> findAll(OperationCriteria criteria, boolean archived, Set<String> relations, Pageable pageable) {
+        ArchivedOperations archivedOperations = new ArchivedOperations(criteria, archived, relations);
+        if (archivedOperations.isEmpty()) {
+            return ArchivedOperationCriteria.isFiltered(criteria)
+                ? operationQueryService.findByCriteria(criteria, relations, pageable)
+                : operationRepository.findAllExpanded(relations, pageable);
+        }
+        long live = operationQueryService.countByCriteria(criteria);
+        long from = pageable.isPaged() ? pageable.getOffset() : 0;
+        long to = pageable.isPaged() ? from + pageable.getPageSize() : Long.MAX_VALUE;
+        List<Operation> content = read(archivedOperations, pageable.getSort(), from, to, () -> live);
+        return new PageImpl<>(content, pageable, live + archivedOperations.count());
+    }
+
+    /**
+     * Get a slice of the operations of both tiers matching the criteria, read as the pages of
+     * {@link #findAll(OperationCriteria, boolean, Set, Pageable)}, without counting the operations of the database unless the slice
+     * follows them all: one more operation is read to know whether there is a next slice.
+     *
+     * @param criteria the criteria which the operations should match.
+     * @param archived whether to read the archive even though the dates of the criteria are not bounded from below.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @param pageable the pagination information.
+     * @return the slice of operations.
+     * @throws ArchiveSortUnsupportedException if archived operations match and the slice is sorted by another property first.
+     */
+    public Slice<Operation> findSlice(OperationCriteria criteria, boolean archived, Set<String> relations, Pageable pageable) {
+        ArchivedOperations archivedOperations = new ArchivedOperations(criteria, archived, relations);
+        if (archivedOperations.isEmpty()) {
+            return operationQueryService.findSliceByCriteria(criteria, relations, pageable);
+        }
+        LongSupplier liveCount = () -> operationQueryService.countByCriteria(criteria);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(read(archivedOperations, pageable.getSort(), 0, Long.MAX_VALUE, liveCount), pageable, false);
+        }
+        long from = pageable.getOffset();
+        List<Operation> content = read(archivedOperations, pageable.getSort(), from, from + pageable.getPageSize() + 1, liveCount);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * Count the operations of both tiers matching the criteria.
+     *
+     * @param criteria the criteria which the operations should match.
+     * @param archived whether to read the archive even though the dates of the criteria are not bounded from below.
+     * @return the number of matching operations.
+     */
+    public long count(OperationCriteria criteria, boolean archived) {
+        return operationQueryService.countByCriteria(criteria) + new ArchivedOperations(criteria, archived, Set.of()).count();
+    }
+
+    /**
+     * Get an archived operation, from the segments whose range of ids holds its id: the id of an operation which is not
+     * archived is only looked up in the index.
+     *
+     * @param id the id of the operation.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @return the operation, if it is archived.
+     */
+    public Optional<Operation> findArchived(Long id, Set<String> relations) {
+        for (Segment segment : indexedSegments()) {
+            if (segment.minId() <= id && id <= segment.maxId()) {
+                for (Operation operation : readSegment(segment.path(), relations)) {
+                    if (id.equals(operation.getId())) {
+                        return Optional.of(operation);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Read the operations between two positions from the runs of operations following each other in the order of the sort.
+     *
+     * @param liveCount the number of matching operations in the database, only asked for when the page follows them all.
+     */
+    private List<Operation> read(ArchivedOperations archivedOperations, Sort sort, long from, long to, LongSupplier liveCount) {
+        OperationCriteria criteria = archivedOperations.criteria();
+        Set<String> relations = archivedOperations.relations();
+        List<Segment> segments = archivedOperations.segments();
+        Comparator<Operation> comparator = sort.isSorted() ? comparator(sort) : null;
+        List<Run> runs = sort.isSorted() ? sortedRuns(criteria, segments, sort.iterator().next()) : unsortedRuns(segments);
+
+        List<Operation> content = new ArrayList<>();
+        long position = 0;
+        for (Run run : runs) {
+            if (position >= to) {
+                break;
+            }
+            long archived = archivedOperations.count(run.segments());
+            if (!run.live()) {
+                if (position + archived > from) {
+                    addPageOperations(content, archivedOperations.read(run.segments(), comparator), position, from, to);
+                }
+                position += archived;
+                continue;
+            }
+
+            // an operation of the database has at most all the archived operations of its run before it: the ones before
+            // this offset are before the page
+            long liveFrom = Math.max(0, from - position - archived);
+            int limit = (int) Math.min(Integer.MAX_VALUE, to - position - liveFrom);
+            List<Operation> live = operationQueryService.findByCriteria(
+                criteria,
+                relations,
+                sort.isSorted() ? sort.and(Sort.by(Operation_.ID)) : sort,
+                liveFrom,
+                limit
+            );
+            if (live.isEmpty()) {
+                position += liveCount.getAsLong() + archived;
+                continue;
+            }
+            // the archived operations before the first one read from the database are before the page too
+            List<Operation> merged = new ArrayList<>(live);
+            long before = 0;
+            for (Operation operation : archivedOperations.read(run.segments(), comparator)) {
+                if (comparator.compare(operation, live.get(0)) < 0) {
+                    before++;
+                } else {
+                    merged.add(operation);
+                }
+            }
+            if (comparator != null) {
+                merged.sort(comparator);
+            }
+            addPageOperations(content, merged, position + liveFrom + before, from, to);
+            if (live.size() == limit) {
+                // the operations following the last one read from the database are after the page
+                break;
+            }
+            position += liveFrom + live.size() + archived;
+        }
+        return content;
+    }
+
+    /**
+     * Split the operations of both tiers, sorted by date or id first, into runs which do not overlap: the segments of a run
+     * are only read when the page overlaps it.
+     */
+    private List<Run> sortedRuns(OperationCriteria criteria, List<Segment> segments, Sort.Order order) {
+        String property = order.getProperty();
+        if (!Operation_.DATE.equals(property) && !Operation_.ID.equals(property)) {
+            throw new ArchiveSortUnsupportedException(property);
+        }
+        Comparator<Comparable<Object>> keys = order.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        List<Source> sources = new ArrayList<>();
+        for (Segment segment : segments) {
+            sources.add(
+                order.isAscending()
+                    ? new Source(segment.min(property), segment.max(property), segment)
+                    : new Source(segment.max(property), segment.min(property), segment)
+            );
+        }
+        Optional<Operation> first = operationQueryService.findFirstByCriteria(criteria, Sort.by(order.getDirection(), property));
+        if (first.isPresent()) {
+            Sort.Direction reversed = order.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Operation last = operationQueryService.findFirstByCriteria(criteria, Sort.by(reversed, property)).orElse(first.get());
+            sources.add(new Source(property(first.get(), property), property(last, property), null));
+        }
+        sources.sort(Comparator.comparing(Source::first, keys));
+
+        List<Run> runs = new ArrayList<>();
+        List<Segment> runSegments = new ArrayList<>();
+        boolean live = false;
+        Comparable<Object> end = null;
+        for (Source source : sources) {
+            if (end != null && keys.compare(source.first(), end) > 0) {
+                runs.add(new Run(runSegments, live));
+                runSegments = new ArrayList<>();
+                live = false;
+                end = null;
+            }
+            if (source.segment() != null) {
+                runSegments.add(source.segment());
+            } else {
+                live = true;
+            }
+            if (end == null || keys.compare(source.last(), end) > 0) {
+                end = source.last();
+            }
+        }
+        if (end != null) {
+            runs.add(new Run(runSegments, live));
+        }
+        return runs;
+    }
+
+    /**
+     * The operations of the database, then each segment, the oldest first.
+     */
+    private static List<Run> unsortedRuns(List<Segment> segments) {
+        List<Run> runs = new ArrayList<>();
+        runs.add(new Run(List.of(), true));
+        segments
+            .stream()
+            .sorted(Comparator.comparing(Segment::minDate))
+            .forEach(segment -> runs.add(new Run(List.of(segment), false)));
+        return runs;
+    }
+
+    private static void addPageOperations(List<Operation> content, List<Operation> operations, long position, long from, long to) {
+        for (int i = 0; i < operations.size(); i++) {
+            if (position + i >= from && position + i < to) {
+                content.add(operations.get(i));
+            }
+        }
+    }
+
+    private static Comparator<Operation> comparator(Sort sort) {
+        Comparator<Operation> comparator = null;
+        for (Sort.Order order : sort.and(Sort.by(Operation_.ID))) {
+            Comparator<Comparable<Object>> values = order.isAscending()
+                ? Comparator.nullsLast(Comparator.<Comparable<Object>>naturalOrder())
+                : Comparator.nullsFirst(Comparator.<Comparable<Object>>reverseOrder());
+            Comparator<Operation> next = Comparator.comparing(operation -> property(operation, order.getProperty()), values);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> property(Operation operation, String property) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(operation);
+        return wrapper.isReadableProperty(property) ? (Comparable<Object>) wrapper.getPropertyValue(property) : null;
+    }
+
+    /**
+     * Reload the index of the segments, so that the segments written by the other nodes are read too.
+     */
+    @Scheduled(cron = "${application.operation-archive.index-refresh-cron:0 */5 * * * ?}")
+    public void refreshSegmentIndex() {
+        loadSegmentIndex();
+    }
+
+    private List<Segment> indexedSegments() {
+        SegmentIndex index = segmentIndex;
+        if (index == null || !index.directory().equals(operationArchiveProperties.getDirectory())) {
+            index = loadSegmentIndex();
+        }
+        return index.segments();
+    }
+
+    private SegmentIndex loadSegmentIndex() {
+        String directory = operationArchiveProperties.getDirectory();
+        SegmentIndex index = new SegmentIndex(directory, listSegments(directory));
+        segmentIndex = index;
+        return index;
+    }
+
+    private static List<Segment> listSegments(String directoryName) {
+        Path directory = Path.of(directoryName);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Segment> segments = new ArrayList<>();
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(
+                        new Segment(
+                            file,
+                            Instant.ofEpochMilli(Long.parseLong(matcher.group(1))),
+                            Instant.ofEpochMilli(Long.parseLong(matcher.group(2))),
+                            Long.parseLong(matcher.group(3)),
+                            Long.parseLong(matcher.group(4)),
+                            Long.parseLong(matcher.group(5))
+                        )
+                    );
+                }
+            });
+            return List.copyOf(segments);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Operation> readSegment(Path segment, Set<String> relations) {
+        return readSegment(segment, relations, null);
+    }
+
+    /**
+     * Read the operations of a segment matching the criteria, if any, before the relationships not asked for are removed.
+     */
+    private List<Operation> readSegment(Path segment, Set<String> relations, OperationCriteria criteria) {
+        try (
+            InputStream in = new GZIPInputStream(Files.newInputStream(segment));
+            MappingIterator<Operation> operations = objectMapper.readerFor(Operation.class).readValues(in)
+        ) {
+            List<Operation> all = operations.readAll();
+            Set<Long> bankAccountIds = new HashSet<>();
+            List<Operation> result = new ArrayList<>();
+            for (Operation operation : all) {
+                bankAccountIds.add(operation.getBankAccount() != null ? operation.getBankAccount().getId() : null);
+                if (criteria != null && !ArchivedOperationCriteria.matches(criteria, operation)) {
+                    continue;
+                }
+                // the relationships not asked for are returned as for the operations of the database
+                if (!relations.contains(Operation_.BANK_ACCOUNT) && operation.getBankAccount() != null) {
+                    operation.setBankAccount(new BankAccount().id(operation.getBankAccount().getId()));
+                }
+                if (!relations.contains(Operation_.LABELS)) {
+                    operation.setLabels(null);
+                }
+                result.add(operation);
+            }
+            segmentBankAccountIds.put(segment, Collections.unmodifiableSet(bankAccountIds));
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path writePendingSegment(List<Operation> operations) {
+        Instant minDate = operations.get(0).getDate();
+        Instant maxDate = operations.get(operations.size() - 1).getDate();
+        long minId = operations.stream().mapToLong(Operation::getId).min().orElseThrow();
+        long maxId = operations.stream().mapToLong(Operation::getId).max().orElseThrow();
+        String name = "operations-%d-%d-%d-%d-%d.jsonl.gz".formatted(
+            minDate.toEpochMilli(),
+            maxDate.toEpochMilli(),
+            minId,
+            maxId,
+            operations.size()
+        );
+        try {
+            Path directory = Files.createDirectories(Path.of(operationArchiveProperties.getDirectory()));
+            Path pending = directory.resolve(name + PENDING_SUFFIX);
+            try (
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(pending, StandardOpenOption.CREATE_NEW));
+                SequenceWriter writer = objectMapper.writerFor(Operation.class).withRootValueSeparator("\n").writeValues(out)
+            ) {
+                writer.writeAll(operations);
+            }
+            try (FileChannel channel = FileChannel.open(pending, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return pending;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commitSegment(Path pending) {
+        String name = pending.getFileName().toString();
+        Path segment = pending.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length()));
+        try {
+            Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+            loadSegmentIndex();
+            if (!segment.toFile().setReadOnly()) {
+                LOG.warn("Archive segment {} could not be made read-only", segment);
+            }
+        } catch (IOException e) {
+            LOG.error("Archive segment {} could not be committed, it will be by the next archival", pending, e);
+        }
+    }
+
+    private static void deleteSegment(Path pending) {
+        try {
+            Files.deleteIfExists(pending);
+        } catch (IOException e) {
+            LOG.error("Archive segment {} could not be deleted, it will be by the next archival", pending, e);
+        }
+    }
+
+    /**
+     * Commit the pending segments whose operations were deleted from the database, and delete the others.
+     */
+    private void resolvePendingSegments() {
+        Path directory = Path.of(operationArchiveProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> pendingSegments;
+        try (Stream<Path> files = Files.list(directory)) {
+            pendingSegments = files.filter(file -> file.getFileName().toString().endsWith(PENDING_SUFFIX)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (Path pending : pendingSegments) {
+            List<Operation> operations;
+            try {
+                operations = readSegment(pending, OperationRepository.RELATIONS);
+            } catch (UncheckedIOException e) {
+                // the segment was not completely written, so its transaction was not committed
+                LOG.warn("Deleting incomplete archive segment {}", pending, e);
+                deleteSegment(pending);
+                continue;
+            }
+            if (operations.isEmpty() || operationRepository.existsById(operations.get(0).getId())) {
+                deleteSegment(pending);
+            } else {
+                commitSegment(pending);
+            }
+        }
+    }
+
+    /**
+     * The segments which may hold operations matching the criteria of a read, if it reads the archive, and their matching
+     * operations, each segment being read at most once.
+     */
+    private final class ArchivedOperations {
+
+        private final OperationCriteria criteria;
+
+        private final boolean filtered;
+
+        private final Set<String> relations;
+
+        private final List<Segment> segments;
+
+        private final Map<Path, List<Operation>> operations = new HashMap<>();
+
+        private ArchivedOperations(OperationCriteria criteria, boolean archived, Set<String> relations) {
+            this.criteria = criteria != null ? criteria : new OperationCriteria();
+            this.filtered = ArchivedOperationCriteria.isFiltered(criteria);
+            this.relations = relations;
+            if (!archived && !ArchivedOperationCriteria.hasDateLowerBound(criteria)) {
+                this.segments = List.of();
+                return;
+            }
+            this.segments = indexedSegments()
+                .stream()
+                .filter(
+                    segment ->
+                        !filtered ||
+                        ArchivedOperationCriteria.mayMatch(
+                            this.criteria,
+                            segment.minDate(),
+                            segment.maxDate(),
+                            segment.minId(),
+                            segment.maxId(),
+                            segmentBankAccountIds.get(segment.path())
+                        )
+                )
+                .toList();
+        }
+
+        private OperationCriteria criteria() {
+            return criteria;
+        }
+
+        private Set<String> relations() {
+            return relations;
+        }
+
+        private List<Segment> segments() {
+            return segments;
+        }
+
+        private boolean isEmpty() {
+            return count() == 0;
+        }
+
+        private long count() {
+            return count(segments);
+        }
+
+        /**
+         * Count the matching operations of segments, from their index when the read is not filtered.
+         */
+        private long count(List<Segment> segments) {
+            return segments.stream().mapToLong(segment -> filtered ? read(segment).size() : segment.count()).sum();
+        }
+
+        private List<Operation> read(Segment segment) {
+            return operations.computeIfAbsent(segment.path(), path -> readSegment(path, relations, filtered ? criteria : null));
+        }
+
+        private List<Operation> read(List<Segment> segments, Comparator<Operation> comparator) {
+            List<Operation> result = new ArrayList<>();
+            for (Segment segment : segments) {
+                result.addAll(read(segment));
+            }
+            if (comparator != null) {
+                result.sort(comparator);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The index of a segment, from its name.
+     */
+    private record Segment(Path path, Instant minDate, Instant maxDate, long minId, long maxId, long count) {
+        private Comparable<Object> min(String property) {
+            return key(Operation_.DATE.equals(property) ? minDate : minId);
+        }
+
+        private Comparable<Object> max(String property) {
+            return key(Operation_.DATE.equals(property) ? maxDate : maxId);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Comparable<Object> key(Object value) {
+            return (Comparable<Object>) value;
+        }
+    }
+
+    /**
+     * The segments of an archive directory.
+     */
+    private record SegmentIndex(String directory, List<Segment> segments) {}
+
+    /**
+     * The range of the values of the first sort property in a segment, or in the database when it has no segment.
+     */
+    private record Source(Comparable<Object> first, Comparable<Object> last, Segment segment) {}
+
+    /**
+     * Operations following each other in the order of a page, from segments and, if live, from the database.
+     */
+    private record Run(List<Segment> segments, boolean live) {}
+}
@@ -0,0 +1,84 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the monthly partitions of the operation table, on PostgreSQL.
+ * <p>
+ * The partitions of the current month and of the next {@code application.operation-partitions.months-ahead} ones are
+ * created in advance, so that operations never pile up in the default partition. When
+ * {@code application.operation-partitions.retention-months} is set, the partitions of older months are detached from the
+ * table: they are kept as plain tables, and no longer slow down the queries on the operations.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.operation-partitions", name = "enabled", havingValue = "true")
+public class OperationPartitionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OperationPartitionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.OperationPartitions operationPartitionsProperties;
+
+    public OperationPartitionService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.operationPartitionsProperties = applicationProperties.getOperationPartitions();
+    }
+
+    /**
+     * Create the partitions of the coming months, and detach the ones past the retention period.
+     * <p>
+     * This is scheduled to be run every night, on a single node of the cluster.
+     */
+    @Scheduled(cron = "${application.operation-partitions.maintenance-cron:0 30 0 * * ?}")
+    @SchedulerLock(name = "maintainOperationPartitions", lockAtMostFor = "${application.operation-partitions.lock-at-most-for:PT10M}")
+    @Workload(Workload.BATCH)
+    public void maintainPartitions() {
+        // the dates are stored in UTC
+        maintainPartitions(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    void maintainPartitions(YearMonth currentMonth) {
+        for (int i = 0; i <= operationPartitionsProperties.getMonthsAhead(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            Boolean created = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("select create_operation_partition(?)", Boolean.class, month.atDay(1))
+            );
+            if (Boolean.TRUE.equals(created)) {
+                LOG.info("Created the partition of the operations of {}", month);
+            }
+        }
+
+        int retentionMonths = operationPartitionsProperties.getRetentionMonths();
+        if (retentionMonths > 0) {
+            LocalDate before = currentMonth.minusMonths(retentionMonths).atDay(1);
+            List<String> detached = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForList("select detach_operation_partitions(?)", String.class, before)
+            );
+            if (detached != null && !detached.isEmpty()) {
+                LOG.info("Detached the partitions of the operations before {}: {}", before, detached);
+            }
+        }
+    }
+}
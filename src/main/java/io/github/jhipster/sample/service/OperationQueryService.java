@@ -0,0 +1,205 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.domain.*; // for static metamodels
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.service.criteria.OperationCriteria;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.SetJoin;
+import jakarta.persistence.criteria.Subquery;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Service for executing complex queries for {@link Operation} entities in the database.
+ * The main input is a {@link OperationCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link Operation} which fulfills the criteria, or a {@link Slice} of them when the total
+ * number of operations is not needed, without counting them.
+ * <p>
+ * The filters are shaped to use the indexes of the operation table: the bank account is compared on the foreign key of
+ * the operation, so that, with a date range, both are read from {@code idx_operation__bank_account_id_date}, and the date
+ * as is, so that PostgreSQL only scans the partitions of the range. The labels are matched by a subquery on the
+ * relationship table, through {@code idx_rel_operation__label__label_id}, rather than by a join: an operation carrying
+ * several of the labels is returned once, without a {@code distinct} preventing the ordered read of an index. The
+ * archived operations are filtered by {@link OperationArchiveService}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OperationQueryService extends QueryService<Operation> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OperationQueryService.class);
+
+    private final OperationRepository operationRepository;
+
+    public OperationQueryService(OperationRepository operationRepository) {
+        this.operationRepository = operationRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Operation} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    public Page<Operation> findByCriteria(OperationCriteria criteria, Set<String> relations, Pageable page) {
+        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Operation> specification = createSpecification(criteria, relations);
+        Page<Operation> operations = operationRepository.findAll(specification, page);
+        return relations.contains(Operation_.LABELS) ? operationRepository.fetchBagRelationships(operations) : operations;
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Operation} which matches the criteria from the database, without counting them:
+     * one more entity is read to know whether there is a next slice.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @param page The slice, which should be returned.
+     * @return the matching entities.
+     */
+    public Slice<Operation> findSliceByCriteria(OperationCriteria criteria, Set<String> relations, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Operation> specification = createSpecification(criteria, relations);
+        // an offset position is the one of the last entity read, the slice starts right after it
+        ScrollPosition position = page.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getOffset() - 1);
+        Window<Operation> window = operationRepository.findBy(specification, query ->
+            query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position)
+        );
+        Slice<Operation> operations = new SliceImpl<>(window.getContent(), page, window.hasNext());
+        return relations.contains(Operation_.LABELS)
+            ? new SliceImpl<>(operationRepository.fetchBagRelationships(operations.getContent()), page, operations.hasNext())
+            : operations;
+    }
+
+    /**
+     * Return the operations which match the criteria from the database, from any position, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @param sort the order of the entities.
+     * @param offset the number of entities to skip.
+     * @param limit the maximum number of entities to return.
+     * @return the matching entities.
+     */
+    public List<Operation> findByCriteria(OperationCriteria criteria, Set<String> relations, Sort sort, long offset, int limit) {
+        LOG.debug("find by criteria : {}, sort: {}, offset: {}, limit: {}", criteria, sort, offset, limit);
+        final Specification<Operation> specification = createSpecification(criteria, relations);
+        ScrollPosition position = offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1);
+        List<Operation> operations = operationRepository
+            .findBy(specification, query -> query.sortBy(sort).limit(limit).scroll(position))
+            .getContent();
+        return relations.contains(Operation_.LABELS) ? operationRepository.fetchBagRelationships(operations) : operations;
+    }
+
+    /**
+     * Return only some fields of the operations which match the criteria from the database, see
+     * {@link OperationRepository#findAllFields}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields the fields to return besides the id, among {@link OperationRepository#FIELDS}.
+     * @param expand the relationships to return too, among {@link OperationRepository#RELATIONS}.
+     * @param page The page, which should be returned.
+     * @return the matching entities, as maps of their fields.
+     */
+    public Page<Map<String, Object>> findFieldsByCriteria(
+        OperationCriteria criteria,
+        Set<String> fields,
+        Set<String> expand,
+        Pageable page
+    ) {
+        LOG.debug("find fields by criteria : {}, fields: {}, page: {}", criteria, fields, page);
+        return operationRepository.findAllFields(createSpecification(criteria, Set.of()), fields, expand, page);
+    }
+
+    /**
+     * Return the first entity matching the criteria in the database, without its relationships.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort the order of the entities.
+     * @return the first matching entity, if any.
+     */
+    public Optional<Operation> findFirstByCriteria(OperationCriteria criteria, Sort sort) {
+        LOG.debug("find first by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Operation> specification = createSpecification(criteria, Set.of());
+        return operationRepository.findBy(specification, query -> query.sortBy(sort).first());
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    public long countByCriteria(OperationCriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<Operation> specification = createSpecification(criteria, Set.of());
+        return operationRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link OperationCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param relations the relationships to load, among {@link OperationRepository#RELATIONS}.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Operation> createSpecification(OperationCriteria criteria, Set<String> relations) {
+        Specification<Operation> specification = Specification.where(null);
+        if (criteria != null) {
+            specification = Specification.allOf(
+                relations.contains(Operation_.BANK_ACCOUNT) ? fetchBankAccount() : null,
+                buildRangeSpecification(criteria.getId(), Operation_.id),
+                buildRangeSpecification(criteria.getDate(), Operation_.date),
+                buildStringSpecification(criteria.getDescription(), Operation_.description),
+                buildRangeSpecification(criteria.getAmount(), Operation_.amount),
+                buildSpecification(criteria.getBankAccountId(), root -> root.get(Operation_.bankAccount).get(BankAccount_.id)),
+                criteria.getLabelId() != null ? buildLabelSpecification(criteria.getLabelId()) : null
+            );
+        }
+        return specification;
+    }
+
+    /**
+     * Join the bank account of the operations to load it with them, except when counting them.
+     */
+    private static Specification<Operation> fetchBankAccount() {
+        return (root, query, builder) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch(Operation_.bankAccount, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Match the operations carrying at least one label matching the filter, or, when it is not {@code specified}, the
+     * operations without any label.
+     */
+    private Specification<Operation> buildLabelSpecification(LongFilter filter) {
+        LongFilter labelFilter = filter.copy();
+        labelFilter.setSpecified(null);
+        return (root, query, builder) -> {
+            Subquery<Long> labels = query.subquery(Long.class);
+            SetJoin<Operation, Label> label = labels.correlate(root).join(Operation_.labels);
+            labels.select(label.get(Label_.id));
+            Predicate predicate = buildSpecification(labelFilter, operation -> label.get(Label_.id)).toPredicate(root, query, builder);
+            if (predicate != null) {
+                labels.where(predicate);
+            }
+            return Boolean.FALSE.equals(filter.getSpecified()) ? builder.not(builder.exists(labels)) : builder.exists(labels);
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.OperationRepository;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service searching the operations by the words of their description.
+ * <p>
+ * With {@code application.operation-search.full-text}, the operations are searched with the full-text search of
+ * PostgreSQL, on a column of their words kept up to date by the database, and ranked by how well they match. Else, on the
+ * databases without full-text search such as H2 in development, their description must hold the words in the given
+ * order, and they are all ranked the same. Ties are broken by id, the latest operations first.
+ * <p>
+ * The pages are read after the {@link Position} of the last operation of the previous page, rather than with an offset:
+ * the operations of the previous pages are neither fetched nor serialized again. As the order of the ranks is not held by
+ * an index, the full-text search ranks the matching operations again for each page: only the latest
+ * {@code application.operation-search.max-candidates} of them are ranked and returned, so that a page never costs more than
+ * that. The archived operations are not searched.
+ */
+@Service
+public class OperationSearchService {
+
+    private final OperationRepository operationRepository;
+
+    private final ApplicationProperties.OperationSearch operationSearchProperties;
+
+    public OperationSearchService(OperationRepository operationRepository, ApplicationProperties applicationProperties) {
+        this.operationRepository = operationRepository;
+        this.operationSearchProperties = applicationProperties.getOperationSearch();
+    }
+
+    /**
+     * Search the operations whose description holds the words of a query.
+     *
+     * @param query the words to search.
+     * @param after the position of the last operation of the previous page, or {@code null} for the first page.
+     * @param size the number of operations of the page, up to {@code application.operation-search.max-page-size}.
+     * @return the page of operations, with their bank account and labels.
+     * @throws IllegalArgumentException if the position has a rank while the operations are all ranked the same, without
+     * full-text search.
+     */
+    public SearchPage search(String query, Position after, int size) {
+        if (!operationSearchProperties.isFullText() && after != null && after.rank() != 0) {
+            throw new IllegalArgumentException("Invalid search position without full-text search: " + after);
+        }
+        int pageSize = Math.max(1, Math.min(size, operationSearchProperties.getMaxPageSize()));
+        // one more operation tells whether there is a next page
+        List<Position> positions = operationSearchProperties.isFullText()
+            ? operationRepository
+                .searchByDescription(
+                    query,
+                    after != null ? after.rank() : null,
+                    after != null ? after.id() : null,
+                    operationSearchProperties.getMaxCandidates(),
+                    Limit.of(pageSize + 1)
+                )
+                .stream()
+                .map(hit -> new Position(hit.getRank(), hit.getId()))
+                .toList()
+            : operationRepository
+                .findIdsByDescriptionLike(likePattern(query), after != null ? after.id() : null, Limit.of(pageSize + 1))
+                .stream()
+                .map(id -> new Position(0, id))
+                .toList();
+        if (positions.isEmpty()) {
+            return new SearchPage(List.of(), null);
+        }
+        List<Position> page = positions.subList(0, Math.min(pageSize, positions.size()));
+        Map<Long, Operation> operations = operationRepository
+            .fetchBagRelationships(operationRepository.findAllWithToOneRelationshipsByIdIn(page.stream().map(Position::id).toList()))
+            .stream()
+            .collect(Collectors.toMap(Operation::getId, Function.identity()));
+        return new SearchPage(
+            page.stream().map(position -> operations.get(position.id())).filter(Objects::nonNull).toList(),
+            positions.size() > pageSize ? page.get(page.size() - 1) : null
+        );
+    }
+
+    private static String likePattern(String query) {
+        String words = query.toLowerCase(Locale.ROOT).replace("\"", " ").strip().replaceAll("([!%_])", "!$1");
+        return "%" + String.join("%", words.split("\\s+")) + "%";
+    }
+
+    /**
+     * A page of operations found by a search.
+     *
+     * @param operations the operations, the best matching first.
+     * @param next the position of the last operation, to read the next page after it, or {@code null} if it is the last page.
+     */
+    public record SearchPage(List<Operation> operations, Position next) {}
+
+    /**
+     * The position of an operation in the results of a search, given to the clients as {@code <rank>:<id>}.
+     * <p>
+     * The rank is written as the shortest decimal which parses back to the same {@code float}, the {@code real} of PostgreSQL,
+     * so that the next page starts right after the operation, the ties being ordered by id.
+     *
+     * @param rank how well the operation matches the search.
+     * @param id the id of the operation.
+     */
+    public record Position(float rank, long id) {
+        /**
+         * Parse a position given by a client.
+         *
+         * @param position the position, as {@code <rank>:<id>}.
+         * @return the position.
+         * @throws IllegalArgumentException if the position is not valid.
+         */
+        public static Position parse(String position) {
+            int separator = position.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid search position: " + position);
+            }
+            return new Position(Float.parseFloat(position.substring(0, separator)), Long.parseLong(position.substring(separator + 1)));
+        }
+
+        @Override
+        public String toString() {
+            return rank + ":" + id;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.jhipster.sample.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces the concurrent loads of a same key: the first caller runs the load, and the callers arriving while it is in
+ * flight wait for its result instead of running their own.
+ * <p>
+ * Nothing is kept once the load completes, so a later caller always gets fresh data. The result is shared between the
+ * callers, it must not depend on which of them asked for it (their authorities for instance), nor be modified by them.
+ * It is handed to the waiting callers once the load has returned, so a load of entities should run its own transaction:
+ * they are detached by then, and the waiting callers hold no connection. Callers already in a transaction keep its
+ * connection while they wait. The number of coalesced loads is counted in {@code singleflight.coalesced}.
+ *
+ * @param <K> the type of the keys, with value-based {@code equals} and {@code hashCode}.
+ * @param <V> the type of the results.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+
+    private final UnaryOperator<V> shared;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this(name, meterRegistry, UnaryOperator.identity());
+    }
+
+    /**
+     * @param name the name of the loads in the metrics.
+     * @param meterRegistry the registry of the metrics.
+     * @param shared the copy of the result handed to each caller which waited for it.
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry, UnaryOperator<V> shared) {
+        this.shared = shared;
+        this.coalesced = Counter.builder("singleflight.coalesced")
+            .description("Loads which waited for an identical load in flight instead of running")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run the load of a key, or wait for the one in flight.
+     *
+     * @param key the key of the load.
+     * @param loader the load, run on the calling thread when no identical load is in flight.
+     * @return the result of the load.
+     * @throws RuntimeException the exception thrown by the load, to all the callers which waited for it.
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return shared.apply(join(running));
+        }
+        try {
+            V result = loader.get();
+            load.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
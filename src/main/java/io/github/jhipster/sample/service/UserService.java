@@ -1,5 +1,7 @@
 package io.github.jhipster.sample.service;
 
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.config.ApplicationProperties;
 import io.github.jhipster.sample.config.Constants;
 import io.github.jhipster.sample.domain.Authority;
 import io.github.jhipster.sample.domain.User;
@@ -9,19 +11,28 @@ import io.github.jhipster.sample.security.AuthoritiesConstants;
 import io.github.jhipster.sample.security.SecurityUtils;
 import io.github.jhipster.sample.service.dto.AdminUserDTO;
 import io.github.jhipster.sample.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -33,6 +44,10 @@ public class UserService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
+    public static final String REMOVED_USERS_METER_NAME = "users.not-activated.removed";
+
+    public static final String REMOVAL_CHUNK_METER_NAME = "users.not-activated.removal.chunk";
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
@@ -41,16 +56,40 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final JsonResponseCache jsonResponseCache;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter removedUsersCounter;
+
+    private final Timer removalChunkTimer;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        JsonResponseCache jsonResponseCache,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.jsonResponseCache = jsonResponseCache;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.removedUsersCounter = Counter.builder(REMOVED_USERS_METER_NAME)
+            .baseUnit("users")
+            .description("Number of not activated users removed by the daily cleanup.")
+            .register(meterRegistry);
+        this.removalChunkTimer = Timer.builder(REMOVAL_CHUNK_METER_NAME)
+            .description("Time spent removing one chunk of not activated users.")
+            .register(meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -293,17 +332,47 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired every day, at 01:00 (am).
+     * This is scheduled to get fired every day, at 01:00 (am), on a single node of the cluster. Users are deleted in chunks
+     * of {@code application.user-cleanup.chunk-size}, each chunk in its own transaction.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @SchedulerLock(
+        name = "removeNotActivatedUsers",
+        lockAtMostFor = "${application.user-cleanup.lock-at-most-for:PT30M}",
+        lockAtLeastFor = "${application.user-cleanup.lock-at-least-for:PT5M}"
+    )
+    @Workload(Workload.BATCH)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                LOG.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                this.clearUserCaches(user);
-            });
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        Limit chunk = Limit.of(applicationProperties.getUserCleanup().getChunkSize());
+        int removed;
+        do {
+            removed = removalChunkTimer.record(() ->
+                Objects.requireNonNull(transactionTemplate.execute(status -> removeNotActivatedUsers(createdBefore, chunk)))
+            );
+            removedUsersCounter.increment(removed);
+        } while (removed == chunk.max());
+    }
+
+    private int removeNotActivatedUsers(Instant createdBefore, Limit chunk) {
+        List<UserRepository.UserCacheKeys> users = userRepository.findCacheKeysOfNotActivatedUsersCreatedBefore(createdBefore, chunk);
+        if (users.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = users.stream().map(UserRepository.UserCacheKeys::getId).toList();
+        LOG.debug("Deleting {} not activated users", ids.size());
+        userRepository.deleteAuthoritiesByUserIdIn(ids);
+        userRepository.deleteAllByIdInBatch(ids);
+        evictAll(
+            UserRepository.USERS_BY_LOGIN_CACHE,
+            users.stream().map(UserRepository.UserCacheKeys::getLogin).collect(Collectors.toSet())
+        );
+        evictAll(
+            UserRepository.USERS_BY_EMAIL_CACHE,
+            users.stream().map(UserRepository.UserCacheKeys::getEmail).filter(Objects::nonNull).collect(Collectors.toSet())
+        );
+        return users.size();
     }
 
     /**
@@ -320,5 +389,17 @@ public class UserService {
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
         }
+        // the bank account responses include their user
+        jsonResponseCache.clear(JsonResponseCache.BANK_ACCOUNTS_CACHE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictAll(String cacheName, Set<String> keys) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        if (cache.getNativeCache() instanceof javax.cache.Cache<?, ?> nativeCache) {
+            ((javax.cache.Cache<Object, Object>) nativeCache).removeAll(keys);
+        } else {
+            keys.forEach(cache::evictIfPresent);
+        }
     }
 }
@@ -0,0 +1,203 @@
+package io.github.jhipster.sample.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link io.github.jhipster.sample.domain.Operation} entity. This class is used
+ * in {@link io.github.jhipster.sample.web.rest.OperationResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /operations?bankAccountId.equals=5&date.greaterThanOrEqual=2026-01-01T00:00:00Z&amount.lessThan=0&labelId.in=1,2}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OperationCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private InstantFilter date;
+
+    private StringFilter description;
+
+    private BigDecimalFilter amount;
+
+    private LongFilter bankAccountId;
+
+    private LongFilter labelId;
+
+    public OperationCriteria() {}
+
+    public OperationCriteria(OperationCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.date = other.optionalDate().map(InstantFilter::copy).orElse(null);
+        this.description = other.optionalDescription().map(StringFilter::copy).orElse(null);
+        this.amount = other.optionalAmount().map(BigDecimalFilter::copy).orElse(null);
+        this.bankAccountId = other.optionalBankAccountId().map(LongFilter::copy).orElse(null);
+        this.labelId = other.optionalLabelId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public OperationCriteria copy() {
+        return new OperationCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public InstantFilter getDate() {
+        return date;
+    }
+
+    public Optional<InstantFilter> optionalDate() {
+        return Optional.ofNullable(date);
+    }
+
+    public InstantFilter date() {
+        if (date == null) {
+            setDate(new InstantFilter());
+        }
+        return date;
+    }
+
+    public void setDate(InstantFilter date) {
+        this.date = date;
+    }
+
+    public StringFilter getDescription() {
+        return description;
+    }
+
+    public Optional<StringFilter> optionalDescription() {
+        return Optional.ofNullable(description);
+    }
+
+    public StringFilter description() {
+        if (description == null) {
+            setDescription(new StringFilter());
+        }
+        return description;
+    }
+
+    public void setDescription(StringFilter description) {
+        this.description = description;
+    }
+
+    public BigDecimalFilter getAmount() {
+        return amount;
+    }
+
+    public Optional<BigDecimalFilter> optionalAmount() {
+        return Optional.ofNullable(amount);
+    }
+
+    public BigDecimalFilter amount() {
+        if (amount == null) {
+            setAmount(new BigDecimalFilter());
+        }
+        return amount;
+    }
+
+    public void setAmount(BigDecimalFilter amount) {
+        this.amount = amount;
+    }
+
+    public LongFilter getBankAccountId() {
+        return bankAccountId;
+    }
+
+    public Optional<LongFilter> optionalBankAccountId() {
+        return Optional.ofNullable(bankAccountId);
+    }
+
+    public LongFilter bankAccountId() {
+        if (bankAccountId == null) {
+            setBankAccountId(new LongFilter());
+        }
+        return bankAccountId;
+    }
+
+    public void setBankAccountId(LongFilter bankAccountId) {
+        this.bankAccountId = bankAccountId;
+    }
+
+    public LongFilter getLabelId() {
+        return labelId;
+    }
+
+    public Optional<LongFilter> optionalLabelId() {
+        return Optional.ofNullable(labelId);
+    }
+
+    public LongFilter labelId() {
+        if (labelId == null) {
+            setLabelId(new LongFilter());
+        }
+        return labelId;
+    }
+
+    public void setLabelId(LongFilter labelId) {
+        this.labelId = labelId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final OperationCriteria that = (OperationCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(date, that.date) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(amount, that.amount) &&
+            Objects.equals(bankAccountId, that.bankAccountId) &&
+            Objects.equals(labelId, that.labelId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, date, description, amount, bankAccountId, labelId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OperationCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalDate().map(f -> "date=" + f + ", ").orElse("") +
+            optionalDescription().map(f -> "description=" + f + ", ").orElse("") +
+            optionalAmount().map(f -> "amount=" + f + ", ").orElse("") +
+            optionalBankAccountId().map(f -> "bankAccountId=" + f + ", ").orElse("") +
+            optionalLabelId().map(f -> "labelId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
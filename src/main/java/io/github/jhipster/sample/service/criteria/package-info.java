@@ -0,0 +1,4 @@
+/**
+ * Criteria to filter the entities, received from the request parameters.
+ */
+package io.github.jhipster.sample.service.criteria;
@@ -0,0 +1,97 @@
+package io.github.jhipster.sample.service.dto;
+
+import io.github.jhipster.sample.domain.BankAccount;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A DTO representing a bank account, with its user, detached from the persistence context so that it can be cached.
+ */
+public class BankAccountDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String name;
+
+    private BigDecimal balance;
+
+    private UserDTO user;
+
+    public BankAccountDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BankAccountDTO(BankAccount bankAccount) {
+        this.id = bankAccount.getId();
+        this.name = bankAccount.getName();
+        this.balance = bankAccount.getBalance();
+        this.user = bankAccount.getUser() != null ? new UserDTO(bankAccount.getUser()) : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BankAccountDTO)) {
+            return false;
+        }
+
+        BankAccountDTO bankAccountDTO = (BankAccountDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, bankAccountDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BankAccountDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", balance=" + getBalance() +
+            ", user=" + getUser() +
+            "}";
+    }
+}
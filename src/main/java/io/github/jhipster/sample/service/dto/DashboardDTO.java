@@ -0,0 +1,96 @@
+package io.github.jhipster.sample.service.dto;
+
+import io.github.jhipster.sample.domain.Operation;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A DTO gathering everything the home page needs for the current user in a single response.
+ * <p>
+ * A part that failed or timed out is left {@code null} and its name is listed in {@link #getUnavailableParts()}.
+ */
+public class DashboardDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ACCOUNT_PART = "account";
+
+    public static final String BANK_ACCOUNTS_PART = "bankAccounts";
+
+    public static final String LATEST_OPERATIONS_PART = "latestOperations";
+
+    public static final String LABEL_TOTALS_PART = "labelTotals";
+
+    private AdminUserDTO account;
+
+    private List<BankAccountDTO> bankAccounts;
+
+    private BigDecimal totalBalance;
+
+    private List<Operation> latestOperations;
+
+    private List<LabelTotalDTO> labelTotals;
+
+    private Set<String> unavailableParts = new TreeSet<>();
+
+    public AdminUserDTO getAccount() {
+        return account;
+    }
+
+    public void setAccount(AdminUserDTO account) {
+        this.account = account;
+    }
+
+    public List<BankAccountDTO> getBankAccounts() {
+        return bankAccounts;
+    }
+
+    public void setBankAccounts(List<BankAccountDTO> bankAccounts) {
+        this.bankAccounts = bankAccounts;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+
+    public List<Operation> getLatestOperations() {
+        return latestOperations;
+    }
+
+    public void setLatestOperations(List<Operation> latestOperations) {
+        this.latestOperations = latestOperations;
+    }
+
+    public List<LabelTotalDTO> getLabelTotals() {
+        return labelTotals;
+    }
+
+    public void setLabelTotals(List<LabelTotalDTO> labelTotals) {
+        this.labelTotals = labelTotals;
+    }
+
+    public Set<String> getUnavailableParts() {
+        return unavailableParts;
+    }
+
+    public void setUnavailableParts(Set<String> unavailableParts) {
+        this.unavailableParts = unavailableParts;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DashboardDTO{" +
+            "account=" + account +
+            ", totalBalance=" + totalBalance +
+            ", unavailableParts=" + unavailableParts +
+            "}";
+    }
+}
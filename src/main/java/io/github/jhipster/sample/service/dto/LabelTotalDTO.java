@@ -0,0 +1,74 @@
+package io.github.jhipster.sample.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing the total amount of the current user's operations for one label.
+ */
+public class LabelTotalDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long labelId;
+
+    private String label;
+
+    private BigDecimal total;
+
+    private Long operationCount;
+
+    public LabelTotalDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LabelTotalDTO(Long labelId, String label, BigDecimal total, Long operationCount) {
+        this.labelId = labelId;
+        this.label = label;
+        this.total = total;
+        this.operationCount = operationCount;
+    }
+
+    public Long getLabelId() {
+        return labelId;
+    }
+
+    public void setLabelId(Long labelId) {
+        this.labelId = labelId;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getOperationCount() {
+        return operationCount;
+    }
+
+    public void setOperationCount(Long operationCount) {
+        this.operationCount = operationCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LabelTotalDTO{" +
+            "labelId=" + labelId +
+            ", label='" + label + "'" +
+            ", total=" + total +
+            ", operationCount=" + operationCount +
+            "}";
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jhipster.sample.web.filter;
+
+import io.github.jhipster.sample.config.PrimaryReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Pins the database reads of a client to the primary for a short window after it writes, so that it reads its own writes
+ * even while the read replicas lag behind.
+ * <p>
+ * The responses to the writes carry a {@value #HEADER} header holding the end of the window, in epoch milliseconds, followed
+ * by a dot and its HMAC, so that the clients cannot forge their own tokens to read from the primary. A client opting in sends
+ * it back with its next requests; the tokens which are expired, not signed, or ending later than a window from now, are
+ * ignored.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final long windowMillis;
+
+    private final SecretKey key;
+
+    /**
+     * @param window how long the reads of a client are pinned to the primary after it writes, as long as the replicas lag.
+     * @param key the secret key signing the tokens.
+     */
+    public ReadYourWritesFilter(Duration window, byte[] key) {
+        this.windowMillis = window.toMillis();
+        this.key = new SecretKeySpec(key, MAC_ALGORITHM);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            long end = now + windowMillis;
+            response.setHeader(HEADER, end + "." + sign(end));
+        }
+        if (!write && !isValid(request.getHeader(HEADER), now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean previous = PrimaryReads.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReads.restore(previous);
+        }
+    }
+
+    private boolean isValid(String token, long now) {
+        int separator = token != null ? token.indexOf('.') : -1;
+        if (separator < 0) {
+            return false;
+        }
+        long end;
+        try {
+            end = Long.parseLong(token.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        byte[] signature = token.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        return end > now && end <= now + windowMillis && MessageDigest.isEqual(sign(end).getBytes(StandardCharsets.US_ASCII), signature);
+    }
+
+    private String sign(long end) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal(Long.toString(end).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign the read-your-writes token", e);
+        }
+    }
+}
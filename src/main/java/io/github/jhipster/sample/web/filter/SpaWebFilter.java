@@ -4,31 +4,189 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 public class SpaWebFilter extends OncePerRequestFilter {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SpaWebFilter.class);
+
+    private static final String INDEX_HTML = "/index.html";
+
+    private static final String INDEX_HTML_CONTENT_TYPE = MediaType.TEXT_HTML_VALUE + ";charset=UTF-8";
+
+    private static final String[] EXCLUDED_PREFIXES = { "/api", "/management", "/v3/api-docs", "/h2-console" };
+
+    /**
+     * The excluded prefixes, indexed by their second character as they all start with a slash.
+     */
+    private static final String[][] EXCLUDED_PREFIXES_BY_CHAR = new String[128][];
+
+    static {
+        for (String prefix : EXCLUDED_PREFIXES) {
+            char c = prefix.charAt(1);
+            String[] prefixes = EXCLUDED_PREFIXES_BY_CHAR[c] == null ? new String[0] : EXCLUDED_PREFIXES_BY_CHAR[c];
+            String[] extended = new String[prefixes.length + 1];
+            System.arraycopy(prefixes, 0, extended, 0, prefixes.length);
+            extended[prefixes.length] = prefix;
+            EXCLUDED_PREFIXES_BY_CHAR[c] = extended;
+        }
+    }
+
+    private final IndexHtml indexHtml;
+
     /**
-     * Forwards any unmapped paths (except those containing a period) to the client {@code index.html}.
+     * Create a filter forwarding the client routes to {@code index.html}, to serve its latest version.
+     */
+    public SpaWebFilter() {
+        this.indexHtml = null;
+    }
+
+    /**
+     * Create a filter serving the client routes from an in-memory copy of {@code index.html}, or forwarding them to it
+     * when it has not been built.
+     *
+     * @param indexHtml the client {@code index.html}.
+     */
+    public SpaWebFilter(Resource indexHtml) {
+        this.indexHtml = indexHtml.exists() ? IndexHtml.load(indexHtml) : null;
+    }
+
+    /**
+     * Serves any unmapped paths (except those containing a period) with the client {@code index.html}.
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
         throws ServletException, IOException {
-        // Request URI includes the contextPath if any, removed it.
-        String path = request.getRequestURI().substring(request.getContextPath().length());
-        if (
-            !path.startsWith("/api") &&
-            !path.startsWith("/management") &&
-            !path.startsWith("/v3/api-docs") &&
-            !path.startsWith("/h2-console") &&
-            !path.contains(".") &&
-            path.matches("/(.*)")
-        ) {
-            request.getRequestDispatcher("/index.html").forward(request, response);
+        // Request URI includes the contextPath if any, skip it.
+        if (isClientRoute(request.getRequestURI(), request.getContextPath().length())) {
+            String method = request.getMethod();
+            if (indexHtml != null && (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))) {
+                indexHtml.serve(request, response);
+            } else {
+                request.getRequestDispatcher(INDEX_HTML).forward(request, response);
+            }
             return;
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Tell whether a path is routed by the client, without allocating: it starts with a slash, has no period, and no
+     * excluded prefix.
+     */
+    static boolean isClientRoute(String requestUri, int offset) {
+        int length = requestUri.length();
+        if (length <= offset || requestUri.charAt(offset) != '/' || requestUri.indexOf('.', offset) >= 0) {
+            return false;
+        }
+        if (length > offset + 1) {
+            char c = requestUri.charAt(offset + 1);
+            String[] prefixes = c < EXCLUDED_PREFIXES_BY_CHAR.length ? EXCLUDED_PREFIXES_BY_CHAR[c] : null;
+            if (prefixes != null) {
+                for (String prefix : prefixes) {
+                    if (requestUri.startsWith(prefix, offset)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tell whether an {@code Accept-Encoding} header accepts gzip: listed as {@code gzip}, {@code x-gzip} or {@code *}
+     * with a non-zero quality, an explicit {@code gzip} taking precedence over {@code *}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean any = false;
+        for (String coding : acceptEncoding.split(",")) {
+            int semicolon = coding.indexOf(';');
+            String name = (semicolon < 0 ? coding : coding.substring(0, semicolon)).trim();
+            boolean accepted = semicolon < 0 || quality(coding.substring(semicolon + 1)) > 0;
+            if ("gzip".equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                gzip = (gzip != null && gzip) || accepted;
+            } else if ("*".equals(name)) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : any;
+    }
+
+    /**
+     * The quality of a coding from its parameters, 1 without a {@code q} parameter and 0 when it is malformed.
+     */
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && "q".equalsIgnoreCase(parameter.substring(0, equals).trim())) {
+                try {
+                    return Double.parseDouble(parameter.substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * The client {@code index.html}, with its gzipped version and their ETags.
+     */
+    private record IndexHtml(byte[] content, String etag, byte[] gzippedContent, String gzippedEtag) {
+        static IndexHtml load(Resource resource) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                byte[] content = StreamUtils.copyToByteArray(inputStream);
+                ByteArrayOutputStream gzipped = new ByteArrayOutputStream(content.length);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+                    gzip.write(content);
+                }
+                String hash = DigestUtils.md5DigestAsHex(content);
+                LOG.debug("Serving index.html from memory, {} bytes, {} gzipped", content.length, gzipped.size());
+                return new IndexHtml(content, '"' + hash + '"', gzipped.toByteArray(), "\"" + hash + "-gzip\"");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load " + resource, e);
+            }
+        }
+
+        void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) && gzippedContent.length < content.length;
+            String currentEtag = gzip ? gzippedEtag : etag;
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            // revalidated on each load, as it references the bundles of the current build
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            response.setHeader(HttpHeaders.ETAG, currentEtag);
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && (ifNoneMatch.contains(currentEtag) || "*".equals(ifNoneMatch))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            byte[] body = gzip ? gzippedContent : content;
+            response.setContentType(INDEX_HTML_CONTENT_TYPE);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLength(body.length);
+            if (!HttpMethod.HEAD.matches(request.getMethod())) {
+                response.getOutputStream().write(body);
+            }
+        }
+    }
 }
@@ -1,20 +1,32 @@
 package io.github.jhipster.sample.web.rest;
 
+import io.github.jhipster.sample.config.PrimaryReads;
 import io.github.jhipster.sample.domain.BankAccount;
 import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.service.BankAccountService;
+import io.github.jhipster.sample.service.JsonResponseCache;
+import io.github.jhipster.sample.service.SingleFlight;
 import io.github.jhipster.sample.web.rest.errors.BadRequestAlertException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -36,8 +48,27 @@ public class BankAccountResource {
 
     private final BankAccountRepository bankAccountRepository;
 
-    public BankAccountResource(BankAccountRepository bankAccountRepository) {
+    private final BankAccountService bankAccountService;
+
+    private final JsonResponseCache jsonResponseCache;
+
+    private final SingleFlight<List<Object>, Optional<BankAccount>> bankAccountLoads;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public BankAccountResource(
+        BankAccountRepository bankAccountRepository,
+        BankAccountService bankAccountService,
+        JsonResponseCache jsonResponseCache,
+        MeterRegistry meterRegistry,
+        PlatformTransactionManager transactionManager
+    ) {
         this.bankAccountRepository = bankAccountRepository;
+        this.bankAccountService = bankAccountService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.bankAccountLoads = new SingleFlight<>("bankAccount", meterRegistry);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -54,6 +85,7 @@ public class BankAccountResource {
             throw new BadRequestAlertException("A new bankAccount cannot already have an ID", ENTITY_NAME, "idexists");
         }
         bankAccount = bankAccountRepository.save(bankAccount);
+        this.clearBankAccountsByUserCache(bankAccount.getId(), new HashSet<>());
         return ResponseEntity.created(new URI("/api/bank-accounts/" + bankAccount.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, bankAccount.getId().toString()))
             .body(bankAccount);
@@ -86,7 +118,12 @@ public class BankAccountResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        // the owner may change, so evict the cached accounts of both the previous and the new owner
+        Set<String> owners = new HashSet<>();
+        bankAccountRepository.findUserLoginById(id).ifPresent(owners::add);
+        this.clearBankAccountResponses(id);
         bankAccount = bankAccountRepository.save(bankAccount);
+        this.clearBankAccountsByUserCache(id, owners);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, bankAccount.getId().toString()))
             .body(bankAccount);
@@ -120,6 +157,7 @@ public class BankAccountResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        this.clearBankAccountResponses(id);
         Optional<BankAccount> result = bankAccountRepository
             .findById(bankAccount.getId())
             .map(existingBankAccount -> {
@@ -133,6 +171,7 @@ public class BankAccountResource {
                 return existingBankAccount;
             })
             .map(bankAccountRepository::save);
+        this.clearBankAccountsByUserCache(id, new HashSet<>());
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -144,31 +183,72 @@ public class BankAccountResource {
      * {@code GET  /bank-accounts} : get all the bankAccounts.
      *
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param expand the relationships to load and return, {@code user}, instead of the eagerload flag.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bankAccounts in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public List<BankAccount> getAllBankAccounts(
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "expand", required = false) Set<String> expand
     ) {
         LOG.debug("REST request to get all BankAccounts");
-        if (eagerload) {
-            return bankAccountRepository.findAllWithEagerRelationships();
-        } else {
-            return bankAccountRepository.findAll();
+        return bankAccountRepository.findAllExpanded(
+            expand != null ? checkRelations(expand) : eagerload ? BankAccountRepository.RELATIONS : Set.of()
+        );
+    }
+
+    /**
+     * {@code GET  /bank-accounts?fields=} : get only some fields of all the bankAccounts.
+     *
+     * @param fields the fields to return besides the id, among {@code name} and {@code balance}.
+     * @param expand the relationships to return too, {@code user}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bankAccounts in body,
+     * or with status {@code 400 (Bad Request)} if a field or a relationship is unknown.
+     */
+    @GetMapping(value = "", params = "fields")
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllBankAccountFields(
+        @RequestParam(name = "fields") Set<String> fields,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
+        LOG.debug("REST request to get all BankAccounts with fields : {}, {}", fields, expand);
+        if (!BankAccountRepository.FIELDS.containsAll(fields)) {
+            throw new BadRequestAlertException("Unknown field", ENTITY_NAME, "fieldunknown");
         }
+        return bankAccountRepository.findAllFields(fields, expand != null ? checkRelations(expand) : Set.of());
     }
 
     /**
      * {@code GET  /bank-accounts/:id} : get the "id" bankAccount.
      *
      * @param id the id of the bankAccount to retrieve.
+     * @param expand the relationships to load and return, {@code user} by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the bankAccount, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BankAccount> getBankAccount(@PathVariable("id") Long id) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResponseEntity<BankAccount> getBankAccount(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
         LOG.debug("REST request to get BankAccount : {}", id);
-        Optional<BankAccount> bankAccount = bankAccountRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(bankAccount);
+        return ResponseUtil.wrapOrNotFound(loadBankAccount(id, expand != null ? checkRelations(expand) : BankAccountRepository.RELATIONS));
+    }
+
+    /**
+     * {@code GET  /bank-accounts/:id} : get the JSON of the "id" bankAccount with its user, from the response cache.
+     *
+     * @param id the id of the bankAccount to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the bankAccount, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = "!expand", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResponseEntity<byte[]> getBankAccountJson(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get BankAccount JSON : {}", id);
+        return ResponseUtil.wrapOrNotFound(
+            jsonResponseCache.get(JsonResponseCache.BANK_ACCOUNTS_CACHE, id, () -> loadBankAccount(id, BankAccountRepository.RELATIONS))
+        );
     }
 
     /**
@@ -180,9 +260,40 @@ public class BankAccountResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBankAccount(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete BankAccount : {}", id);
+        this.clearBankAccountsByUserCache(id, new HashSet<>());
+        this.clearBankAccountResponses(id);
         bankAccountRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private Optional<BankAccount> loadBankAccount(Long id, Set<String> relations) {
+        // concurrent polls of a same bank account share a single load, run in its own transaction so that they wait without
+        // a connection and get a detached bank account, and only with the polls reading from the same database
+        return bankAccountLoads.load(List.of(id, relations, PrimaryReads.isPinned()), () ->
+            readOnlyTransactionTemplate.execute(status -> bankAccountRepository.findOneExpanded(id, relations))
+        );
+    }
+
+    private static Set<String> checkRelations(Set<String> expand) {
+        if (!BankAccountRepository.RELATIONS.containsAll(expand)) {
+            throw new BadRequestAlertException("Unknown relationship", ENTITY_NAME, "relationshipunknown");
+        }
+        return expand;
+    }
+
+    /**
+     * Evict the cached accounts of the current owner of a bank account, and of its other given owners, once committed.
+     */
+    private void clearBankAccountsByUserCache(Long id, Set<String> owners) {
+        bankAccountRepository.findUserLoginById(id).ifPresent(owners::add);
+        bankAccountService.clearBankAccountsByUserCache(owners);
+    }
+
+    private void clearBankAccountResponses(Long id) {
+        jsonResponseCache.evict(JsonResponseCache.BANK_ACCOUNTS_CACHE, id);
+        // the operation responses include their bank account
+        jsonResponseCache.clear(JsonResponseCache.OPERATIONS_CACHE);
+    }
 }
@@ -0,0 +1,49 @@
+package io.github.jhipster.sample.web.rest;
+
+import io.github.jhipster.sample.security.SecurityUtils;
+import io.github.jhipster.sample.service.DashboardService;
+import io.github.jhipster.sample.service.dto.DashboardDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller serving the current user's dashboard in a single round-trip.
+ */
+@RestController
+@RequestMapping("/api")
+public class DashboardResource {
+
+    private static class DashboardResourceException extends RuntimeException {
+
+        private DashboardResourceException(String message) {
+            super(message);
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardResource.class);
+
+    private final DashboardService dashboardService;
+
+    public DashboardResource(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * {@code GET  /dashboard} : get the current user's account, bankAccounts, balances, latest operations and label totals.
+     * <p>
+     * The label totals only sum the operations of the last {@code application.dashboard.label-totals-period}, from the
+     * database: the archived operations are not counted, see {@code GET /operations?archived=true}.
+     *
+     * @return the dashboard of the current user.
+     * @throws RuntimeException {@code 500 (Internal Server Error)} if the current user login can't be found.
+     */
+    @GetMapping("/dashboard")
+    public DashboardDTO getDashboard() {
+        LOG.debug("REST request to get the dashboard of the current user");
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() ->
+            new DashboardResourceException("Current user login not found")
+        );
+        return dashboardService.getDashboard(login);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.jhipster.sample.web.rest;
+
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.github.jhipster.sample.config.JacksonConfiguration;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Leave the relations of the entities that were not requested with the {@code expand} parameter out of the responses.
+ * <p>
+ * Without this parameter, the relations that were not loaded are serialized as their identifier, as before.
+ */
+@ControllerAdvice
+public class ExpandedRelationsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String EXPAND_PARAMETER = "expand";
+
+    @Override
+    protected void beforeBodyWriteInternal(
+        MappingJacksonValue bodyContainer,
+        MediaType contentType,
+        MethodParameter returnType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String[] expand = servletRequest.getServletRequest().getParameterValues(EXPAND_PARAMETER);
+        if (expand == null) {
+            return;
+        }
+        Set<String> relations = Arrays.stream(expand)
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider().addFilter(JacksonConfiguration.RELATIONS_FILTER, new RelationsFilter(relations)));
+    }
+
+    private static final class RelationsFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> relations;
+
+        private RelationsFilter(Set<String> relations) {
+            this.relations = relations;
+        }
+
+        @Override
+        protected boolean include(PropertyWriter writer) {
+            return relations.contains(writer.getName()) || !isRelation(writer);
+        }
+
+        private static boolean isRelation(PropertyWriter writer) {
+            return (
+                writer.getAnnotation(ManyToOne.class) != null ||
+                writer.getAnnotation(OneToOne.class) != null ||
+                writer.getAnnotation(OneToMany.class) != null ||
+                writer.getAnnotation(ManyToMany.class) != null
+            );
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.jhipster.sample.web.rest;
 
 import io.github.jhipster.sample.domain.Label;
 import io.github.jhipster.sample.repository.LabelRepository;
+import io.github.jhipster.sample.service.JsonResponseCache;
 import io.github.jhipster.sample.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -36,8 +38,11 @@ public class LabelResource {
 
     private final LabelRepository labelRepository;
 
-    public LabelResource(LabelRepository labelRepository) {
+    private final JsonResponseCache jsonResponseCache;
+
+    public LabelResource(LabelRepository labelRepository, JsonResponseCache jsonResponseCache) {
         this.labelRepository = labelRepository;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     /**
@@ -84,6 +89,7 @@ public class LabelResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        this.clearLabelResponses(id);
         label = labelRepository.save(label);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, label.getId().toString()))
@@ -118,6 +124,7 @@ public class LabelResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        this.clearLabelResponses(id);
         Optional<Label> result = labelRepository
             .findById(label.getId())
             .map(existingLabel -> {
@@ -141,6 +148,7 @@ public class LabelResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of labels in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public List<Label> getAllLabels() {
         LOG.debug("REST request to get all Labels");
         return labelRepository.findAll();
@@ -153,12 +161,26 @@ public class LabelResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the label, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Label> getLabel(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Label : {}", id);
         Optional<Label> label = labelRepository.findById(id);
         return ResponseUtil.wrapOrNotFound(label);
     }
 
+    /**
+     * {@code GET  /labels/:id} : get the JSON of the "id" label, from the response cache.
+     *
+     * @param id the id of the label to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the label, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional(readOnly = true)
+    public ResponseEntity<byte[]> getLabelJson(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get Label JSON : {}", id);
+        return ResponseUtil.wrapOrNotFound(jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, id, () -> labelRepository.findById(id)));
+    }
+
     /**
      * {@code DELETE  /labels/:id} : delete the "id" label.
      *
@@ -168,9 +190,16 @@ public class LabelResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteLabel(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Label : {}", id);
+        this.clearLabelResponses(id);
         labelRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private void clearLabelResponses(Long id) {
+        jsonResponseCache.evict(JsonResponseCache.LABELS_CACHE, id);
+        // the operation responses include their labels
+        jsonResponseCache.clear(JsonResponseCache.OPERATIONS_CACHE);
+    }
 }
@@ -0,0 +1,41 @@
+package io.github.jhipster.sample.web.rest;
+
+import io.github.jhipster.sample.security.SecurityUtils;
+import io.github.jhipster.sample.service.BankAccountService;
+import io.github.jhipster.sample.service.dto.BankAccountDTO;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reading the {@link io.github.jhipster.sample.domain.BankAccount}s owned by the current user.
+ */
+@RestController
+@RequestMapping("/api/my")
+public class MyBankAccountResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MyBankAccountResource.class);
+
+    private final BankAccountService bankAccountService;
+
+    public MyBankAccountResource(BankAccountService bankAccountService) {
+        this.bankAccountService = bankAccountService;
+    }
+
+    /**
+     * {@code GET  /my/bank-accounts} : get the bankAccounts of the current user.
+     * <p>
+     * Results are cached per user and evicted whenever one of the user's bankAccounts is created, updated or deleted.
+     *
+     * @return the list of bankAccounts owned by the current user.
+     */
+    @GetMapping("/bank-accounts")
+    public List<BankAccountDTO> getMyBankAccounts() {
+        LOG.debug("REST request to get the BankAccounts of the current user");
+        return SecurityUtils.getCurrentUserLogin()
+            .map(bankAccountService::findAllByUserLogin)
+            .orElseGet(Collections::emptyList);
+    }
+}
@@ -1,23 +1,40 @@
 package io.github.jhipster.sample.web.rest;
 
+import io.github.jhipster.sample.config.PrimaryReads;
 import io.github.jhipster.sample.domain.Operation;
 import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.service.ArchiveSortUnsupportedException;
+import io.github.jhipster.sample.service.JsonResponseCache;
+import io.github.jhipster.sample.service.OperationArchiveService;
+import io.github.jhipster.sample.service.OperationQueryService;
+import io.github.jhipster.sample.service.OperationSearchService;
+import io.github.jhipster.sample.service.SingleFlight;
+import io.github.jhipster.sample.service.criteria.OperationCriteria;
 import io.github.jhipster.sample.web.rest.errors.BadRequestAlertException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -41,8 +58,35 @@ public class OperationResource {
 
     private final OperationRepository operationRepository;
 
-    public OperationResource(OperationRepository operationRepository) {
+    private final JsonResponseCache jsonResponseCache;
+
+    private final OperationArchiveService operationArchiveService;
+
+    private final OperationSearchService operationSearchService;
+
+    private final OperationQueryService operationQueryService;
+
+    private final SingleFlight<List<Object>, Optional<Operation>> operationLoads;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public OperationResource(
+        OperationRepository operationRepository,
+        JsonResponseCache jsonResponseCache,
+        OperationArchiveService operationArchiveService,
+        OperationSearchService operationSearchService,
+        OperationQueryService operationQueryService,
+        MeterRegistry meterRegistry,
+        PlatformTransactionManager transactionManager
+    ) {
         this.operationRepository = operationRepository;
+        this.jsonResponseCache = jsonResponseCache;
+        this.operationArchiveService = operationArchiveService;
+        this.operationSearchService = operationSearchService;
+        this.operationQueryService = operationQueryService;
+        this.operationLoads = new SingleFlight<>("operation", meterRegistry);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -91,6 +135,7 @@ public class OperationResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        jsonResponseCache.evict(JsonResponseCache.OPERATIONS_CACHE, id);
         operation = operationRepository.save(operation);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, operation.getId().toString()))
@@ -125,6 +170,7 @@ public class OperationResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        jsonResponseCache.evict(JsonResponseCache.OPERATIONS_CACHE, id);
         Optional<Operation> result = operationRepository
             .findById(operation.getId())
             .map(existingOperation -> {
@@ -149,39 +195,171 @@ public class OperationResource {
     }
 
     /**
-     * {@code GET  /operations} : get all the operations.
+     * {@code GET  /operations} : get all the operations matching the criteria.
+     * <p>
+     * The archived operations are only read when asked for with the {@code archived} parameter, or when the dates of the
+     * criteria are bounded from below, by {@code date.greaterThan}, {@code date.greaterThanOrEqual}, {@code date.equals} or
+     * {@code date.in}: only the segments of the archive from that date on are read.
      *
      * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of operations in body.
+     * @param expand the relationships to load and return, {@code bankAccount} and/or {@code labels}, instead of the eagerload flag.
+     * @param count whether to count the operations: without the count, the operations are returned without the
+     * {@code X-Total-Count} header, and linked to the previous and next pages only.
+     * @param archived whether to read the archived operations too, whatever the dates of the criteria.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of operations in body, or with status
+     * {@code 400 (Bad Request)} if archived operations match and the page is not sorted by {@code date} or {@code id} first.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Operation>> getAllOperations(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        OperationCriteria criteria,
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "expand", required = false) Set<String> expand,
+        @RequestParam(name = "count", required = false, defaultValue = "true") boolean count,
+        @RequestParam(name = "archived", required = false, defaultValue = "false") boolean archived
     ) {
-        LOG.debug("REST request to get a page of Operations");
+        LOG.debug("REST request to get a page of Operations by criteria: {}", criteria);
+        Set<String> relations = expand != null ? checkRelations(expand) : eagerload ? OperationRepository.RELATIONS : Set.of();
         Page<Operation> page;
-        if (eagerload) {
-            page = operationRepository.findAllWithEagerRelationships(pageable);
-        } else {
-            page = operationRepository.findAll(pageable);
+        try {
+            if (!count) {
+                Slice<Operation> slice = operationArchiveService.findSlice(criteria, archived, relations, pageable);
+                return ResponseEntity.ok().headers(generateSliceHttpHeaders(slice)).body(slice.getContent());
+            }
+            page = operationArchiveService.findAll(criteria, archived, relations, pageable);
+        } catch (ArchiveSortUnsupportedException e) {
+            throw new BadRequestAlertException("Archived operations are sorted by date or id", ENTITY_NAME, "sortunsupported");
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
-     * {@code GET  /operations/:id} : get the "id" operation.
+     * {@code GET  /operations/count} : count all the operations matching the criteria, the archived ones being read as by
+     * {@code GET  /operations}.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param archived whether to count the archived operations too, whatever the dates of the criteria.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countOperations(
+        OperationCriteria criteria,
+        @RequestParam(name = "archived", required = false, defaultValue = "false") boolean archived
+    ) {
+        LOG.debug("REST request to count Operations by criteria: {}", criteria);
+        return ResponseEntity.ok().body(operationArchiveService.count(criteria, archived));
+    }
+
+    /**
+     * {@code GET  /operations?fields=} : get only some fields of the operations matching the criteria.
+     * <p>
+     * Only the operations of the database are returned, the archived ones are not read.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields to return besides the id, among {@code date}, {@code description} and {@code amount}.
+     * @param expand the relationships to return too, {@code bankAccount} and/or {@code labels}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of operations in body,
+     * or with status {@code 400 (Bad Request)} if a field or a relationship is unknown.
+     */
+    @GetMapping(value = "", params = "fields")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> getAllOperationFields(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        OperationCriteria criteria,
+        @RequestParam(name = "fields") Set<String> fields,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
+        LOG.debug("REST request to get a page of Operations with fields : {}, {}", fields, expand);
+        if (!OperationRepository.FIELDS.containsAll(fields)) {
+            throw new BadRequestAlertException("Unknown field", ENTITY_NAME, "fieldunknown");
+        }
+        Page<Map<String, Object>> page = operationQueryService.findFieldsByCriteria(
+            criteria,
+            fields,
+            expand != null ? checkRelations(expand) : Set.of(),
+            pageable
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /operations/search?q=} : search the operations by the words of their description, the best matching first.
+     * <p>
+     * The archived operations are not searched. The next page is linked by the {@code Link} header, with the position of
+     * the last operation of the page, after which it starts. With the full-text search, each page ranks the matching
+     * operations again, up to the latest {@code application.operation-search.max-candidates} of them, the only ones found.
+     *
+     * @param query the words to search.
+     * @param after the position after which the page starts, as given by the {@code Link} header of the previous page.
+     * @param size the number of operations of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of operations in body,
+     * or with status {@code 400 (Bad Request)} if the query is blank or the position is not valid.
+     */
+    @GetMapping("/search")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Operation>> searchOperations(
+        @RequestParam(name = "q") String query,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "size", required = false, defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to search Operations : {}, after {}", query, after);
+        if (query.isBlank()) {
+            throw new BadRequestAlertException("A search needs words", ENTITY_NAME, "querymissing");
+        }
+        OperationSearchService.SearchPage page;
+        try {
+            page = operationSearchService.search(query, after != null ? OperationSearchService.Position.parse(after) : null, size);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid search position", ENTITY_NAME, "positioninvalid");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (page.next() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", page.next()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page.operations());
+    }
+
+    /**
+     * {@code GET  /operations/:id} : get the "id" operation, from the database or the archive.
+     * <p>
+     * An archived operation can only be read: it cannot be updated nor deleted.
      *
      * @param id the id of the operation to retrieve.
+     * @param expand the relationships to load and return, {@code bankAccount} and/or {@code labels}, all of them by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the operation, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Operation> getOperation(@PathVariable("id") Long id) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResponseEntity<Operation> getOperation(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
         LOG.debug("REST request to get Operation : {}", id);
-        Optional<Operation> operation = operationRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(operation);
+        return ResponseUtil.wrapOrNotFound(loadOperation(id, expand != null ? checkRelations(expand) : OperationRepository.RELATIONS));
+    }
+
+    /**
+     * {@code GET  /operations/:id} : get the JSON of the "id" operation with all its relationships, from the response cache,
+     * the database or the archive.
+     *
+     * @param id the id of the operation to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the operation, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = "!expand", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResponseEntity<byte[]> getOperationJson(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get Operation JSON : {}", id);
+        return ResponseUtil.wrapOrNotFound(
+            jsonResponseCache.get(JsonResponseCache.OPERATIONS_CACHE, id, () -> loadOperation(id, OperationRepository.RELATIONS))
+        );
     }
 
     /**
@@ -193,9 +371,50 @@ public class OperationResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOperation(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Operation : {}", id);
+        jsonResponseCache.evict(JsonResponseCache.OPERATIONS_CACHE, id);
         operationRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private Optional<Operation> loadOperation(Long id, Set<String> relations) {
+        // concurrent polls of a same operation share a single load, run in its own transaction so that they wait without
+        // a connection and get a detached operation, and only with the polls reading from the same database
+        return operationLoads.load(List.of(id, relations, PrimaryReads.isPinned()), () ->
+            readOnlyTransactionTemplate.execute(status ->
+                operationRepository.findOneExpanded(id, relations).or(() -> operationArchiveService.findArchived(id, relations))
+            )
+        );
+    }
+
+    private static HttpHeaders generateSliceHttpHeaders(Slice<Operation> slice) {
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(sliceLink(slice.nextPageable(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(sliceLink(slice.previousPageable(), "prev"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String sliceLink(Pageable pageable, String relType) {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("page", pageable.getPageNumber())
+            .replaceQueryParam("size", pageable.getPageSize())
+            .toUriString();
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+
+    private static Set<String> checkRelations(Set<String> expand) {
+        if (!OperationRepository.RELATIONS.containsAll(expand)) {
+            throw new BadRequestAlertException("Unknown relationship", ENTITY_NAME, "relationshipunknown");
+        }
+        return expand;
+    }
 }
@@ -0,0 +1,60 @@
+package gatling.simulations;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Performance test comparing the page load latency over HTTP/1.1 and HTTP/2, against the application started with the
+ * {@code tls} profile.
+ * <p>
+ * Each user loads the client like a browser: the page, the bundles it references, then the translations and the account,
+ * over at most 6 connections in HTTP/1.1. The {@code Page load} group gives the latency of the whole page. Pass
+ * {@code -Dmode=http1} or {@code -Dmode=http2} to pick the protocol:
+ * <pre>
+ * ./mvnw gatling:test -Dgatling.simulationClass=gatling.simulations.HttpProtocolGatlingTest -Dmode=http2
+ * </pre>
+ */
+public class HttpProtocolGatlingTest extends Simulation {
+
+    String baseURL = Optional.ofNullable(System.getProperty("baseURL")).orElse("https://localhost:8080");
+
+    String mode = Optional.ofNullable(System.getProperty("mode")).orElse("http2");
+
+    HttpProtocolBuilder httpConf = http
+        .baseUrl(baseURL)
+        .inferHtmlResources()
+        .maxConnectionsPerHost(6)
+        .acceptHeader("*/*")
+        .acceptEncodingHeader("gzip, deflate, br")
+        .userAgentHeader("Gatling");
+
+    ChainBuilder pageLoad = group("Page load").on(
+        exec(
+            http("Index")
+                .get("/")
+                .check(status().is(200))
+                .resources(
+                    http("Translations").get("/i18n/en.json").check(status().is(200)),
+                    http("Account").get("/api/account").check(status().in(200, 401))
+                )
+        )
+    );
+
+    ScenarioBuilder users = scenario("Page load (" + mode + ")")
+        .exec(pageLoad)
+        .repeat(Integer.getInteger("reloads", 5))
+        .on(pause(Duration.ofSeconds(1)).exec(pageLoad));
+
+    {
+        setUp(
+            users.injectOpen(rampUsers(Integer.getInteger("users", 100)).during(Duration.ofSeconds(Integer.getInteger("ramp", 30))))
+        )
+            .protocols("http2".equals(mode) ? httpConf.enableHttp2() : httpConf)
+            .assertions(global().failedRequests().percent().lt(1.0));
+    }
+}
@@ -0,0 +1,64 @@
+package gatling.simulations;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Performance test comparing the platform thread pools with the virtual threads, on the endpoints blocking on JDBC.
+ * <p>
+ * Run it once against the application started as usual, then once against the application started on Java 21 with
+ * {@code --spring.threads.virtual.enabled=true}, passing {@code -Dmode=platform} or {@code -Dmode=virtual} to tell the
+ * reports apart:
+ * <pre>
+ * ./mvnw gatling:test -Dgatling.simulationClass=gatling.simulations.RequestThreadingGatlingTest -Dmode=virtual -Dusers=500
+ * </pre>
+ */
+public class RequestThreadingGatlingTest extends Simulation {
+
+    String baseURL = Optional.ofNullable(System.getProperty("baseURL")).orElse("http://localhost:8080");
+
+    String mode = Optional.ofNullable(System.getProperty("mode")).orElse("platform");
+
+    HttpProtocolBuilder httpConf = http
+        .baseUrl(baseURL)
+        .acceptHeader("*/*")
+        .acceptEncodingHeader("gzip, deflate")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Gatling");
+
+    Map<String, String> headersHttpAuthentication = Map.of("Content-Type", "application/json", "Accept", "application/json");
+
+    Map<String, String> headersHttpAuthenticated = Map.of("Accept", "application/json", "Authorization", "#{access_token}");
+
+    ChainBuilder scn = exec(
+        http("Authentication")
+            .post("/api/authenticate")
+            .headers(headersHttpAuthentication)
+            .body(StringBody("{\"username\":\"admin\", \"password\":\"admin\"}"))
+            .asJson()
+            .check(header("Authorization").saveAs("access_token"))
+    )
+        .exitHereIfFailed()
+        .repeat(Integer.getInteger("iterations", 20))
+        .on(
+            exec(http("Get the dashboard").get("/api/dashboard").headers(headersHttpAuthenticated).check(status().is(200)))
+                .exec(http("Get all operations").get("/api/operations").headers(headersHttpAuthenticated).check(status().is(200)))
+                .exec(http("Get all bank accounts").get("/api/bank-accounts").headers(headersHttpAuthenticated).check(status().is(200)))
+        );
+
+    ScenarioBuilder users = scenario("Request threading (" + mode + " threads)").exec(scn);
+
+    {
+        setUp(
+            users.injectOpen(rampUsers(Integer.getInteger("users", 200)).during(Duration.ofSeconds(Integer.getInteger("ramp", 30))))
+        )
+            .protocols(httpConf)
+            .assertions(global().failedRequests().percent().lt(1.0));
+    }
+}
@@ -3,18 +3,29 @@ package io.github.jhipster.sample;
 import io.github.jhipster.sample.config.AsyncSyncConfiguration;
 import io.github.jhipster.sample.config.EmbeddedSQL;
 import io.github.jhipster.sample.config.JacksonConfiguration;
+import io.github.jhipster.sample.config.QueryCountConfiguration;
+import io.github.jhipster.sample.web.rest.QueryBudgetExtension;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.context.SpringBootTest;
 
 /**
  * Base composite annotation for integration tests.
+ * <p>
+ * The SQL statements run by each MockMvc call are checked against the budget of its endpoint by the
+ * {@link QueryBudgetExtension}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@SpringBootTest(classes = { JhipsterSampleApplicationApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class })
+@SpringBootTest(
+    classes = {
+        JhipsterSampleApplicationApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class, QueryCountConfiguration.class,
+    }
+)
+@ExtendWith(QueryBudgetExtension.class)
 @EmbeddedSQL
 public @interface IntegrationTest {
 }
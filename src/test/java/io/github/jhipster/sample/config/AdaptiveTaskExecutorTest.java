@@ -0,0 +1,127 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+class AdaptiveTaskExecutorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AdaptiveTaskExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void growsWhenQueuedTasksWaitLongerThanTarget() throws Exception {
+        ApplicationProperties.ExecutorPool pool = new ApplicationProperties.ExecutorPool(1, 4, 100, false);
+        pool.setTargetQueueLatency(Duration.ofMillis(10));
+        executor = createExecutor(pool);
+
+        executor.execute(this::awaitRelease);
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(60);
+            executor.execute(completed::incrementAndGet);
+        }
+
+        assertThat(executor.getCorePoolSize()).isGreaterThan(1);
+        assertThat(completed.get()).isPositive();
+    }
+
+    @Test
+    void keepsMinSizeWhenTasksDoNotWait() throws Exception {
+        ApplicationProperties.ExecutorPool pool = new ApplicationProperties.ExecutorPool(1, 4, 100, false);
+        executor = createExecutor(pool);
+
+        for (int i = 0; i < 5; i++) {
+            executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+            Thread.sleep(60);
+        }
+
+        assertThat(executor.getCorePoolSize()).isOne();
+    }
+
+    @Test
+    void publishesMetrics() throws Exception {
+        executor = createExecutor(new ApplicationProperties.ExecutorPool(1, 1, 10, false));
+
+        executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+        // the timers are recorded once the task has returned, after its future is completed
+        executor.getThreadPoolExecutor().shutdown();
+        assertThat(executor.getThreadPoolExecutor().awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(meterRegistry.get("executor").tag("name", "testTaskExecutor").timer().count()).isOne();
+        assertThat(meterRegistry.get("executor.idle").tag("name", "testTaskExecutor").timer().count()).isOne();
+        assertThat(meterRegistry.get("executor.queued").tag("name", "testTaskExecutor").gauge().value()).isZero();
+        assertThat(meterRegistry.get("executor.pool.core").tag("name", "testTaskExecutor").gauge().value()).isOne();
+    }
+
+    @Test
+    void tasksReadFromPrimaryWhenSubmittedByPinnedThread() throws Exception {
+        executor = createExecutor(new ApplicationProperties.ExecutorPool(1, 1, 10, false));
+
+        assertThat(executor.submit(PrimaryReads::isPinned).get(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(PrimaryReads.call(() -> executor.submit(PrimaryReads::isPinned)).get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.submit(PrimaryReads::isPinned).get(1, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void countsRejectedTasks() {
+        executor = createExecutor(new ApplicationProperties.ExecutorPool(1, 1, 1, false));
+
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(TaskRejectedException.class);
+        assertThat(meterRegistry.get("executor.rejected").tag("name", "testTaskExecutor").counter().count()).isOne();
+    }
+
+    @Test
+    void runsRejectedTasksOnCallerWhenConfigured() {
+        executor = createExecutor(new ApplicationProperties.ExecutorPool(1, 1, 1, true));
+
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        executor.execute(() -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+
+        assertThat(ranOnCaller.get()).isOne();
+        assertThat(meterRegistry.get("executor.rejected").tag("name", "testTaskExecutor").counter().count()).isOne();
+    }
+
+    private AdaptiveTaskExecutor createExecutor(ApplicationProperties.ExecutorPool pool) {
+        AdaptiveTaskExecutor adaptiveTaskExecutor = new AdaptiveTaskExecutor("testTaskExecutor", pool, meterRegistry);
+        adaptiveTaskExecutor.setThreadNamePrefix("test-");
+        adaptiveTaskExecutor.initialize();
+        return adaptiveTaskExecutor;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
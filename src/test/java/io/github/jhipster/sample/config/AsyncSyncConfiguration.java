@@ -12,4 +12,14 @@ public class AsyncSyncConfiguration {
     public Executor taskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = "dashboardTaskExecutor")
+    public Executor dashboardTaskExecutor() {
+        return new SyncTaskExecutor();
+    }
+
+    @Bean(name = "mailTaskExecutor")
+    public Executor mailTaskExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
@@ -0,0 +1,48 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.github.jhipster.sample.domain.id.TimeOrderedIdGenerator;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class DatabaseConfigurationTest {
+
+    private final DatabaseConfiguration databaseConfiguration = new DatabaseConfiguration(new MockEnvironment());
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @Test
+    void timeOrderedIdsNeedNodeId() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> databaseConfiguration.idGeneratorHibernatePropertiesCustomizer(applicationProperties))
+            .withMessageContaining("application.id-generator.node-id");
+    }
+
+    @Test
+    void nodeIdIsPassedToHibernate() {
+        applicationProperties.getIdGenerator().setNodeId(7);
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        databaseConfiguration.idGeneratorHibernatePropertiesCustomizer(applicationProperties).customize(hibernateProperties);
+
+        assertThat(hibernateProperties)
+            .containsEntry(TimeOrderedIdGenerator.NODE_ID, 7)
+            .containsEntry(TimeOrderedIdGenerator.TIME_ORDERED, true);
+    }
+
+    @Test
+    void sequenceIdsNeedNoNodeId() {
+        applicationProperties.getIdGenerator().setTimeOrdered(false);
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        databaseConfiguration.idGeneratorHibernatePropertiesCustomizer(applicationProperties).customize(hibernateProperties);
+
+        assertThat(hibernateProperties)
+            .containsEntry(TimeOrderedIdGenerator.TIME_ORDERED, false)
+            .doesNotContainKey(TimeOrderedIdGenerator.NODE_ID);
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.util.StatusCodes;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PrecompressedStaticAssetsHandlerTest {
+
+    private static final String BUNDLE = "main.0123456789abcdef0123.js";
+
+    @TempDir
+    Path root;
+
+    private Undertow server;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        Files.writeString(root.resolve(BUNDLE), "identity");
+        Files.writeString(root.resolve(BUNDLE + ".br"), "brotli");
+        Files.writeString(root.resolve(BUNDLE + ".gz"), "gzip");
+        Files.writeString(root.resolve("favicon.js"), "not hashed");
+        server = Undertow.builder()
+            .addHttpListener(0, "localhost")
+            .setHandler(
+                new PrecompressedStaticAssetsHandler(new PathResourceManager(root), exchange -> {
+                    exchange.setStatusCode(StatusCodes.ACCEPTED);
+                    exchange.getResponseSender().send("next");
+                })
+            )
+            .build();
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void servesBrotliVariantWhenAccepted() throws Exception {
+        HttpResponse<String> response = get("/" + BUNDLE, "gzip, deflate, br");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("brotli");
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("br");
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).contains("javascript"));
+        assertThat(response.headers().firstValue("Cache-Control")).contains(PrecompressedStaticAssetsHandler.IMMUTABLE);
+        assertThat(response.headers().firstValue("Vary")).contains("Accept-Encoding");
+    }
+
+    @Test
+    void servesGzipVariantWhenAccepted() throws Exception {
+        HttpResponse<String> response = get("/" + BUNDLE, "gzip");
+
+        assertThat(response.body()).isEqualTo("gzip");
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+    }
+
+    @Test
+    void servesIdentityOtherwise() throws Exception {
+        HttpResponse<String> response = get("/" + BUNDLE, "identity");
+
+        assertThat(response.body()).isEqualTo("identity");
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(response.headers().firstValue("Cache-Control")).contains(PrecompressedStaticAssetsHandler.IMMUTABLE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/favicon.js", "/main.0123456789abcdef0000.js", "/api/account" })
+    void handsOtherPathsToNextHandler(String path) throws Exception {
+        HttpResponse<String> response = get(path, "gzip, deflate, br");
+
+        assertThat(response.statusCode()).isEqualTo(StatusCodes.ACCEPTED);
+        assertThat(response.body()).isEqualTo("next");
+        assertThat(response.headers().firstValue("Cache-Control")).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "/main.0123456789abcdef0123.js", "/styles.0123456789abcdef.css", "/content/logo.0123456789abcdef0123.svg", "/a.b.0123456789abcdef.js",
+        }
+    )
+    void isHashed(String path) {
+        assertThat(PrecompressedStaticAssetsHandler.isHashed(path)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/", "/main.js", "/swagger-ui/swagger-ui-bundle.js", "/0123456789abcdef0123.js", "/main.0123456789abcdef" })
+    void isNotHashed(String path) {
+        assertThat(PrecompressedStaticAssetsHandler.isHashed(path)).isFalse();
+    }
+
+    private HttpResponse<String> get(String path, String acceptEncoding) throws Exception {
+        int port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Accept-Encoding", acceptEncoding)
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.web.rest.QueryBudgetExtension;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Counts the SQL statements run by the application, for the {@link QueryBudgetExtension}.
+ */
+@Configuration
+public class QueryCountConfiguration {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // the primary data source, used by JPA, the JdbcTemplate and Liquibase
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetExtension.Filter> queryBudgetFilter(EntityManagerFactory entityManagerFactory) {
+        FilterRegistrationBean<QueryBudgetExtension.Filter> registration = new FilterRegistrationBean<>(
+            new QueryBudgetExtension.Filter(entityManagerFactory)
+        );
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadReplicaDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaConnection1 = mock(Connection.class);
+
+    private final Connection replicaConnection2 = mock(Connection.class);
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource replica1 = mock(DataSource.class);
+
+    private final DataSource replica2 = mock(DataSource.class);
+
+    private final AtomicBoolean pinned = new AtomicBoolean();
+
+    private ReadReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+        when(replica2.getConnection()).thenReturn(replicaConnection2);
+        dataSource = new ReadReplicaDataSource(primary, List.of(replica1, replica2), Duration.ofMinutes(1), pinned::get);
+    }
+
+    @Test
+    void replicasAreUsedInTurn() throws SQLException {
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void failedReplicaIsSkipped() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(1);
+        verify(replica1, times(1)).getConnection();
+    }
+
+    @Test
+    void primaryIsUsedWhenNoReplicaIsAvailable() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+        when(replica2.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getAvailableReplicas()).isZero();
+    }
+
+    @Test
+    void skippedReplicaIsRetriedAfterInterval() throws SQLException {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replica1), Duration.ZERO, pinned::get);
+        when(replica1.getConnection())
+            .thenThrow(new SQLTransientConnectionException("Connection is not available"))
+            .thenReturn(replicaConnection1);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+    }
+
+    @Test
+    void pinnedReadsUsePrimary() throws SQLException {
+        pinned.set(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.aop.workload.WorkloadContext;
+import io.github.jhipster.sample.web.filter.ReadYourWritesFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Routing of the transactions between two PostgreSQL databases, standing for a primary and its replica. Each one holds a
+ * {@code node} table with its own name, so the queries tell which database they ran on.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingIT {
+
+    private static final String UNREACHABLE_REPLICA = "jdbc:postgresql://localhost:1/jhipsterSampleApplication";
+
+    @Container
+    private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:17.4");
+
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:17.4");
+
+    private HikariDataSource primaryDataSource;
+
+    private WorkloadRoutingDataSource workloadRoutingDataSource;
+
+    private ReadReplicaDataSource readReplicaDataSource;
+
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void createNodes() {
+        createNode(primary, "primary");
+        createNode(replica, "replica");
+    }
+
+    private static void createNode(PostgreSQLContainer<?> container, String name) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+            container.getJdbcUrl(),
+            container.getUsername(),
+            container.getPassword(),
+            true
+        );
+        try {
+            new JdbcTemplate(dataSource).execute("create table node (name varchar(20))");
+            new JdbcTemplate(dataSource).update("insert into node (name) values (?)", name);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    @AfterEach
+    void close() {
+        if (readReplicaDataSource != null) {
+            readReplicaDataSource.close();
+        }
+        if (workloadRoutingDataSource != null) {
+            workloadRoutingDataSource.close();
+        }
+        if (primaryDataSource != null) {
+            primaryDataSource.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        route(List.of(replica.getJdbcUrl()));
+
+        assertThat(readInTransaction(true)).isEqualTo("replica");
+        assertThat(readInTransaction(false)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("select name from node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaIsSkipped() {
+        route(List.of(UNREACHABLE_REPLICA, replica.getJdbcUrl()));
+
+        assertThat(readInTransaction(true)).isEqualTo("replica");
+        assertThat(readInTransaction(true)).isEqualTo("replica");
+        assertThat(readReplicaDataSource.getAvailableReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    void primaryIsUsedWhenNoReplicaIsReachable() {
+        route(List.of(UNREACHABLE_REPLICA));
+
+        assertThat(readInTransaction(true)).isEqualTo("primary");
+        assertThat(readReplicaDataSource.getAvailableReplicas()).isZero();
+    }
+
+    @Test
+    void readsAfterWriteUsePrimary() throws Exception {
+        route(List.of(replica.getJdbcUrl()));
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), "secret".getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/operations/1"), writeResponse, (request, response) -> {});
+        String token = writeResponse.getHeader(ReadYourWritesFilter.HEADER);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/operations/1");
+        read.addHeader(ReadYourWritesFilter.HEADER, token);
+        AtomicReference<String> node = new AtomicReference<>();
+        filter.doFilter(read, new MockHttpServletResponse(), (request, response) -> node.set(readInTransaction(true)));
+
+        assertThat(node).hasValue("primary");
+        assertThat(readInTransaction(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsOfTheWorkloadsUseTheirPoolOfTheReplica() {
+        route(List.of(replica.getJdbcUrl()));
+
+        assertThat(WorkloadContext.call(Workload.REPORTING, "report", () -> readInTransaction(true))).isEqualTo("replica");
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", "Hikari-replica-1-reporting").timer().count()).isOne();
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", "Hikari-replica-1").timer().count()).isZero();
+    }
+
+    private void route(List<String> replicaUrls) {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(primary.getJdbcUrl());
+        dataSourceProperties.setUsername(primary.getUsername());
+        dataSourceProperties.setPassword(primary.getPassword());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReplicas().setUrls(replicaUrls);
+        applicationProperties.getReplicas().setConnectionTimeout(Duration.ofSeconds(1));
+
+        meterRegistry = new SimpleMeterRegistry();
+        DataSourcePoolsConfiguration poolsConfiguration = new DataSourcePoolsConfiguration();
+        primaryDataSource = poolsConfiguration.oltpDataSource(dataSourceProperties);
+        primaryDataSource.setAutoCommit(false);
+        workloadRoutingDataSource = poolsConfiguration.workloadRoutingDataSource(primaryDataSource, applicationProperties, meterRegistry);
+        readReplicaDataSource = new ReadReplicaConfiguration().readReplicaDataSource(
+            primaryDataSource,
+            workloadRoutingDataSource,
+            dataSourceProperties,
+            applicationProperties,
+            meterRegistry
+        );
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("readReplicaDataSource", readReplicaDataSource));
+        DataSource dataSource = poolsConfiguration.dataSource(workloadRoutingDataSource, beanFactory.getBeanProvider(ReadReplicaDataSource.class));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String readInTransaction(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.jhipster.sample.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JMH benchmark comparing the JSON and CBOR encodings of a large page of operations, as returned by
+ * {@code GET /api/operations?eagerload=true}.
+ * <p>
+ * The size of each payload is printed during the setup. Run it with the {@link #main(String[])} method, from the IDE or
+ * after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({ "1000" })
+    private int operationCount;
+
+    private ObjectMapper jsonMapper;
+
+    private ObjectMapper cborMapper;
+
+    private List<Operation> operations;
+
+    private byte[] json;
+
+    private byte[] cbor;
+
+    @Setup
+    public void setup() throws IOException {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        jsonMapper = objectMapperBuilder(jacksonConfiguration).build();
+        cborMapper = jacksonConfiguration.cborHttpMessageConverter(objectMapperBuilder(jacksonConfiguration)).getObjectMapper();
+
+        BankAccount bankAccount = new BankAccount().id(1L).name("Current account").balance(new BigDecimal("12345.67"));
+        Label label = new Label().id(1L).label("Groceries");
+        Instant date = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        operations = new ArrayList<>(operationCount);
+        for (int i = 0; i < operationCount; i++) {
+            operations.add(
+                new Operation()
+                    .id(1000L + i)
+                    .date(date.minus(i, ChronoUnit.HOURS))
+                    .description("Card payment " + i)
+                    .amount(BigDecimal.valueOf(-1234 - i, 2))
+                    .bankAccount(bankAccount)
+                    .addLabel(label)
+            );
+        }
+
+        json = jsonMapper.writeValueAsBytes(operations);
+        cbor = cborMapper.writeValueAsBytes(operations);
+        System.out.printf("%n%d operations: %d bytes in JSON, %d bytes in CBOR%n", operationCount, json.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(operations);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(operations);
+    }
+
+    @Benchmark
+    public Operation[] readJson() throws IOException {
+        return jsonMapper.readValue(json, Operation[].class);
+    }
+
+    @Benchmark
+    public Operation[] readCbor() throws IOException {
+        return cborMapper.readValue(cbor, Operation[].class);
+    }
+
+    /**
+     * The JSON mapper as configured by Spring Boot, with the modules of the {@link JacksonConfiguration}.
+     */
+    private static Jackson2ObjectMapperBuilder objectMapperBuilder(JacksonConfiguration jacksonConfiguration) {
+        return Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResponseEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class SingleFlightCacheTest {
+
+    private ConcurrentMapCache delegate;
+
+    private SingleFlightCache cache;
+
+    @BeforeEach
+    void setup() {
+        delegate = new ConcurrentMapCache("test");
+        cache = new SingleFlightCache(delegate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void loadedValueIsCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("key", () -> "value " + loads.incrementAndGet())).isEqualTo("value 1");
+        assertThat(cache.get("key", () -> "value " + loads.incrementAndGet())).isEqualTo("value 1");
+        assertThat(delegate.get("key", String.class)).isEqualTo("value 1");
+    }
+
+    @Test
+    void copyOfLoadedValueIsCached() {
+        ArrayList<String> value = new ArrayList<>(List.of("value"));
+
+        assertThat(cache.get("key", () -> value)).isSameAs(value);
+        assertThat(delegate.get("key").get()).isEqualTo(value).isNotSameAs(value);
+    }
+
+    @Test
+    void nullValueIsNotCached() {
+        assertThat(cache.<String>get("key", () -> null)).isNull();
+        assertThat(delegate.get("key")).isNull();
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void checkedExceptionIsWrapped() {
+        assertThatThrownBy(() ->
+            cache.get("key", () -> {
+                throw new IOException("load failed");
+            })
+        )
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(delegate.get("key")).isNull();
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.jhipster.sample.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the SQL statements run by the current thread, between {@link #start()} and {@link #stop()}.
+ * <p>
+ * A batch counts as many statements as it holds, so that a loop inserting rows one by one is seen whatever the batch size.
+ * The parameters bound to the prepared statements are kept with them: they are listed with the statements over a budget,
+ * which tells apart the rows loaded one by one, and the statements can be run again with them, to explain them.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    /**
+     * The value of the parameters bound to null.
+     */
+    public static final Object NULL = new Object() {
+        @Override
+        public String toString() {
+            return "null";
+        }
+    };
+
+    private static final ThreadLocal<StatementCount> CURRENT = new ThreadLocal<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Start counting the statements of the current thread.
+     */
+    public static void start() {
+        CURRENT.set(new StatementCount());
+    }
+
+    /**
+     * Stop counting the statements of the current thread.
+     *
+     * @return the statements run since {@link #start()}, or {@code null} if the thread was not counting them.
+     */
+    public static StatementCount stop() {
+        StatementCount count = CURRENT.get();
+        CURRENT.remove();
+        return count;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countStatements(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countStatements(super.getConnection(username, password));
+    }
+
+    private static Connection countStatements(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                // the SQL of the prepared statements and of the callable ones, the others are given theirs when executed
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return countExecutions(method.getReturnType(), statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private static Object countExecutions(Class<?> type, Statement statement, String preparedSql) {
+        List<ExecutedStatement> batch = new ArrayList<>();
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(type, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(name) || args[1] == null ? NULL : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("addBatch".equals(name)) {
+                batch.add(
+                    args != null && args.length == 1
+                        ? new ExecutedStatement((String) args[0], List.of())
+                        : new ExecutedStatement(preparedSql, List.copyOf(parameters.values()))
+                );
+            } else if ("clearBatch".equals(name)) {
+                batch.clear();
+            } else if ("executeBatch".equals(name) || "executeLargeBatch".equals(name)) {
+                batch.forEach(StatementCountingDataSource::count);
+                batch.clear();
+            } else if (name.startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                count(new ExecutedStatement(sql, List.of()));
+            } else if (name.startsWith("execute") && preparedSql != null) {
+                count(new ExecutedStatement(preparedSql, List.copyOf(parameters.values())));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static void count(ExecutedStatement statement) {
+        StatementCount count = CURRENT.get();
+        if (count != null) {
+            count.add(statement);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * A statement run, with the parameters bound to it in order, {@link #NULL} standing for the null ones.
+     */
+    public record ExecutedStatement(String sql, List<Object> parameters) {
+        @Override
+        public String toString() {
+            return parameters.isEmpty() ? sql : sql + " " + parameters;
+        }
+    }
+
+    /**
+     * The statements run by a thread, by kind.
+     */
+    public static class StatementCount {
+
+        private int selects;
+
+        private int inserts;
+
+        private int updates;
+
+        private int deletes;
+
+        private final List<ExecutedStatement> statements = new ArrayList<>();
+
+        void add(ExecutedStatement statement) {
+            statements.add(statement);
+            String keyword = statement.sql().strip().split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+            switch (keyword) {
+                case "select", "with" -> selects++;
+                case "insert" -> inserts++;
+                case "update" -> updates++;
+                case "delete" -> deletes++;
+                default -> {
+                    // the other statements, such as locks or sequences, are only listed
+                }
+            }
+        }
+
+        public int getSelects() {
+            return selects;
+        }
+
+        public int getInserts() {
+            return inserts;
+        }
+
+        public int getUpdates() {
+            return updates;
+        }
+
+        public int getDeletes() {
+            return deletes;
+        }
+
+        public List<ExecutedStatement> getStatements() {
+            return statements;
+        }
+
+        @Override
+        public String toString() {
+            return selects + " select, " + inserts + " insert, " + updates + " update, " + deletes + " delete";
+        }
+    }
+}
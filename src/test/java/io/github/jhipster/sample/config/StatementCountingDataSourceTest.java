@@ -0,0 +1,80 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.config.StatementCountingDataSource.ExecutedStatement;
+import io.github.jhipster.sample.config.StatementCountingDataSource.StatementCount;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+class StatementCountingDataSourceTest {
+
+    private SingleConnectionDataSource target;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        target = new SingleConnectionDataSource("jdbc:h2:mem:statement-counting;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(new StatementCountingDataSource(target));
+        jdbcTemplate.execute("create table item (id bigint, name varchar(20))");
+    }
+
+    @AfterEach
+    void cleanup() {
+        StatementCountingDataSource.stop();
+        jdbcTemplate.execute("drop table item");
+        target.destroy();
+    }
+
+    @Test
+    void statementsAreCountedByKind() {
+        StatementCountingDataSource.start();
+        jdbcTemplate.update("insert into item (id, name) values (?, ?)", 1, "first");
+        jdbcTemplate.queryForList("select name from item", String.class);
+        jdbcTemplate.queryForObject("select count(*) from item where id = ?", Integer.class, 1);
+        jdbcTemplate.update("update item set name = 'renamed'");
+        jdbcTemplate.update("delete from item where id = ?", 1);
+        StatementCount count = StatementCountingDataSource.stop();
+
+        assertThat(count.getSelects()).isEqualTo(2);
+        assertThat(count.getInserts()).isOne();
+        assertThat(count.getUpdates()).isOne();
+        assertThat(count.getDeletes()).isOne();
+        assertThat(count.getStatements()).hasSize(5);
+        assertThat(count.getStatements().get(0).sql()).isEqualTo("insert into item (id, name) values (?, ?)");
+        assertThat(count.getStatements().get(0).parameters()).containsExactly(1, "first");
+    }
+
+    @Test
+    void batchedStatementsAreCountedOneByOne() {
+        StatementCountingDataSource.start();
+        jdbcTemplate.batchUpdate("insert into item (id, name) values (?, ?)", List.of(new Object[] { 1, "a" }, new Object[] { 2, "b" }));
+        StatementCount count = StatementCountingDataSource.stop();
+
+        assertThat(count.getInserts()).isEqualTo(2);
+        assertThat(count.getStatements()).extracting(ExecutedStatement::parameters).containsExactly(List.of(1, "a"), List.of(2, "b"));
+    }
+
+    @Test
+    void statementsAreListedWithTheirParameters() {
+        StatementCountingDataSource.start();
+        jdbcTemplate.update("insert into item (id, name) values (?, ?)", 1, null);
+        jdbcTemplate.update("delete from item");
+
+        assertThat(StatementCountingDataSource.stop().getStatements())
+            .map(ExecutedStatement::toString)
+            .containsExactly("insert into item (id, name) values (?, ?) [1, null]", "delete from item");
+    }
+
+    @Test
+    void statementsAreOnlyCountedWhenStarted() {
+        jdbcTemplate.update("insert into item (id, name) values (?, ?)", 1, "first");
+
+        assertThat(StatementCountingDataSource.stop()).isNull();
+    }
+}
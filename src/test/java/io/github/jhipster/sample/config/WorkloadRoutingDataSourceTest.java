@@ -0,0 +1,122 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.jhipster.sample.aop.workload.Workload;
+import io.github.jhipster.sample.aop.workload.WorkloadContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final Connection oltpConnection = mock(Connection.class);
+
+    private final Connection reportingConnection = mock(Connection.class);
+
+    private final DataSource oltp = mock(DataSource.class);
+
+    private final DataSource reporting = mock(DataSource.class);
+
+    private WorkloadRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(oltp.getConnection()).thenReturn(oltpConnection);
+        when(reporting.getConnection()).thenReturn(reportingConnection);
+    }
+
+    @AfterEach
+    void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void connectionsComeFromThePoolOfTheWorkload() throws SQLException {
+        route();
+
+        dataSource.getConnection().close();
+        verify(oltpConnection).close();
+        verify(reporting, never()).getConnection();
+
+        WorkloadContext.call(Workload.REPORTING, "report", this::fetchAndClose);
+        verify(reportingConnection).close();
+    }
+
+    @Test
+    void connectionWithCredentialsComesFromThePoolOfTheWorkload() throws SQLException {
+        when(reporting.getConnection("report", "secret")).thenReturn(reportingConnection);
+        route();
+
+        WorkloadContext.call(Workload.REPORTING, "report", () -> {
+            try {
+                dataSource.getConnection("report", "secret").close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        verify(reportingConnection).close();
+        verify(oltp, never()).getConnection("report", "secret");
+    }
+
+    @Test
+    void workloadWithoutPoolUsesOltpPool() throws SQLException {
+        route();
+
+        WorkloadContext.call(Workload.BATCH, "job", this::fetchAndClose);
+
+        verify(oltpConnection).close();
+        verify(reporting, never()).getConnection();
+    }
+
+    @Test
+    void poolsOfTheWorkloadsDetectLeaks() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:h2:mem:leaks");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        DataSourcePoolsConfiguration poolsConfiguration = new DataSourcePoolsConfiguration();
+
+        try (
+            WorkloadRoutingDataSource workloadRoutingDataSource = poolsConfiguration.workloadRoutingDataSource(
+                poolsConfiguration.oltpDataSource(dataSourceProperties),
+                applicationProperties,
+                new SimpleMeterRegistry()
+            )
+        ) {
+            assertThat(workloadRoutingDataSource.getPools()).containsKeys(Workload.OLTP, Workload.REPORTING, Workload.BATCH);
+            assertThat(workloadRoutingDataSource.getPools().values()).allSatisfy(pool ->
+                assertThat(((HikariDataSource) pool).getLeakDetectionThreshold()).isEqualTo(
+                    applicationProperties.getConnectionPools().getLongHoldThreshold().toMillis()
+                )
+            );
+        }
+    }
+
+    private void route() {
+        dataSource = new WorkloadRoutingDataSource(Map.of(Workload.OLTP, oltp, Workload.REPORTING, reporting));
+    }
+
+    private Void fetchAndClose() {
+        try {
+            dataSource.getConnection().close();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.jhipster.sample.domain.id;
+
+import io.github.jhipster.sample.JhipsterSampleApplicationApp;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.repository.OperationRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JMH benchmark comparing the number of operations inserted per second, by transactions of {@value #BATCH_SIZE}, with
+ * their ids drawn from the {@code sequence_generator} sequence, and with time-ordered ids generated by the application.
+ * <p>
+ * The application runs with the {@code testdev} profile, on an in-memory H2 database, where a round-trip to the sequence
+ * is cheap: set the {@code SPRING_DATASOURCE_URL}, {@code SPRING_DATASOURCE_USERNAME} and {@code SPRING_DATASOURCE_PASSWORD}
+ * environment variables to measure them on a remote database. Run it with the {@link #main(String[])} method, from the IDE
+ * or after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeOrderedIdBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "false", "true" })
+    private boolean timeOrdered;
+
+    private ConfigurableApplicationContext context;
+
+    private OperationRepository operationRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private BankAccount bankAccount;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(JhipsterSampleApplicationApp.class)
+            .profiles("test", "testdev")
+            .properties(
+                "server.port=0",
+                "spring.docker.compose.enabled=false",
+                "application.liquibase.async-start=false",
+                "application.id-generator.time-ordered=" + timeOrdered,
+                "logging.level.ROOT=WARN"
+            )
+            .run();
+        operationRepository = context.getBean(OperationRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        bankAccount = transactionTemplate.execute(status ->
+            context.getBean(BankAccountRepository.class).save(new BankAccount().name("Current account").balance(new BigDecimal("12345.67")))
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Operation> insertOperations() {
+        Instant date = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Operation> operations = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            operations.add(
+                new Operation()
+                    .date(date)
+                    .description("Card payment " + i)
+                    .amount(BigDecimal.valueOf(-1234 - i, 2))
+                    .bankAccount(bankAccount)
+            );
+        }
+        return transactionTemplate.execute(status -> operationRepository.saveAll(operations));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TimeOrderedIdBenchmark.class.getSimpleName()).build()).run();
+    }
+}
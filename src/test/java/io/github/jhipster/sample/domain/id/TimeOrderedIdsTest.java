@@ -0,0 +1,76 @@
+package io.github.jhipster.sample.domain.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdsTest {
+
+    private static final long NOW = Instant.parse("2026-10-19T12:00:00Z").toEpochMilli();
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void idsFollowTheClock() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock::get);
+
+        long first = ids.next();
+        long second = ids.next();
+        clock.addAndGet(1);
+        long third = ids.next();
+
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(third).isEqualTo(first + (1 << (TimeOrderedIds.NODE_BITS + TimeOrderedIds.COUNTER_BITS)));
+        assertThat(first >>> (TimeOrderedIds.NODE_BITS + TimeOrderedIds.COUNTER_BITS)).isEqualTo(NOW - TimeOrderedIds.EPOCH);
+    }
+
+    @Test
+    void nodesGenerateDistinctIds() {
+        long first = new TimeOrderedIds(3, clock::get).next();
+        long second = new TimeOrderedIds(5, clock::get).next();
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat((first >>> TimeOrderedIds.COUNTER_BITS) & TimeOrderedIds.MAX_NODE_ID).isEqualTo(3);
+    }
+
+    @Test
+    void exhaustedCounterWaitsForTheNextMillisecond() {
+        AtomicLong reads = new AtomicLong();
+        // the clock moves on once all the ids of the millisecond were generated, and read once more
+        TimeOrderedIds ids = new TimeOrderedIds(0, () -> reads.incrementAndGet() <= TimeOrderedIds.MAX_COUNTER + 3 ? NOW : NOW + 1);
+        long[] generated = IntStream.rangeClosed(0, TimeOrderedIds.MAX_COUNTER + 1).mapToLong(i -> ids.next()).toArray();
+
+        assertThat(generated).isSorted().doesNotHaveDuplicates();
+        long last = generated[generated.length - 1];
+        assertThat(last >>> (TimeOrderedIds.NODE_BITS + TimeOrderedIds.COUNTER_BITS)).isEqualTo(NOW + 1 - TimeOrderedIds.EPOCH);
+        assertThat(last & TimeOrderedIds.MAX_COUNTER).isZero();
+        assertThat(reads).hasValueGreaterThan(TimeOrderedIds.MAX_COUNTER + 3);
+    }
+
+    @Test
+    void noIdIsGeneratedWhileTheClockIsBehind() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock::get);
+        long first = ids.next();
+        clock.addAndGet(-1000);
+
+        assertThatThrownBy(ids::next).isInstanceOf(IllegalStateException.class).hasMessageContaining("1000 ms");
+        clock.addAndGet(1000);
+        assertThat(ids.next()).isGreaterThan(first);
+    }
+
+    @Test
+    void idsAreAboveTheSequenceAndSafeForJavaScript() {
+        assertThat(new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID, clock::get).next()).isGreaterThan(1L << 50);
+        clock.set(Instant.parse("2085-01-01T00:00:00Z").toEpochMilli());
+        assertThat(new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID, clock::get).next()).isLessThan(1L << 53);
+    }
+
+    @Test
+    void nodeIdIsChecked() {
+        assertThatThrownBy(() -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
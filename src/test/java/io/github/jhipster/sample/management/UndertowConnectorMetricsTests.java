@@ -0,0 +1,79 @@
+package io.github.jhipster.sample.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UndertowConnectorMetricsTests {
+
+    private MeterRegistry meterRegistry;
+
+    private Undertow server;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        server = Undertow.builder()
+            .setServerOption(UndertowOptions.ENABLE_STATISTICS, true)
+            .addHttpListener(0, "localhost")
+            .setHandler(exchange -> exchange.getResponseSender().send("ok"))
+            .build();
+        server.start();
+
+        new UndertowConnectorMetrics(server.getListenerInfo().get(0)).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void testConnectionMetersAreCreated() {
+        assertThat(meterRegistry.get("undertow.connections.active").tag("protocol", "http").gauge().value()).isZero();
+        assertThat(meterRegistry.get("undertow.connections.max").gauge().value()).isZero();
+        assertThat(meterRegistry.get("undertow.requests.active").gauge().value()).isZero();
+        assertThat(meterRegistry.find("undertow.tls.sessions").gauge()).isNull();
+    }
+
+    @Test
+    void testRequestsAreCounted() throws Exception {
+        int port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/")).build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).body()).isEqualTo("ok");
+        }
+
+        assertThat(meterRegistry.get("undertow.requests").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("undertow.requests.errors").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("undertow.connections.max").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("undertow.bytes.sent").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void testNothingIsBoundWithoutStatistics() {
+        Undertow withoutStatistics = Undertow.builder().addHttpListener(0, "localhost").setHandler(exchange -> {}).build();
+        withoutStatistics.start();
+        try {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            new UndertowConnectorMetrics(withoutStatistics.getListenerInfo().get(0)).bindTo(registry);
+
+            assertThat(registry.getMeters()).isEmpty();
+        } finally {
+            withoutStatistics.stop();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.jhipster.sample.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadDiagnosticsTests {
+
+    private MeterRegistry meterRegistry;
+
+    private VirtualThreadDiagnostics virtualThreadDiagnostics;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        virtualThreadDiagnostics = new VirtualThreadDiagnostics(meterRegistry, Duration.ofMillis(20));
+        virtualThreadDiagnostics.start();
+    }
+
+    @AfterEach
+    void stop() {
+        virtualThreadDiagnostics.stop();
+    }
+
+    @Test
+    void testPinningMetersAreCreated() {
+        assertThat(meterRegistry.get("jvm.threads.virtual.pinned").timer().count()).isZero();
+
+        assertThat(meterRegistry.get("jvm.threads.virtual.submit.failed").counter().count()).isZero();
+    }
+
+    @Test
+    void testCarrierThreadGaugesAreCreated() {
+        assertThat(meterRegistry.get("jvm.threads.virtual.carrier.parallelism").gauge().value()).isEqualTo(
+            Runtime.getRuntime().availableProcessors()
+        );
+
+        assertThat(meterRegistry.get("jvm.threads.virtual.carrier.max").gauge().value()).isEqualTo(256);
+    }
+}
@@ -4,11 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.github.jhipster.sample.IntegrationTest;
 import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.BankAccount_;
 import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.Operation_;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +22,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,6 +39,9 @@ class OperationRepositoryTest {
     @Autowired
     private BankAccountRepository bankAccountRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Operation operation;
     private BankAccount bankAccount;
     private Long numberOfOperations;
@@ -140,4 +151,36 @@ class OperationRepositoryTest {
         assertThat(operations.getContent().stream().anyMatch(o -> o.getId().equals(operation.getId()))).isTrue();
         operations.getContent().forEach(op -> assertThat(op.getBankAccount()).isNotNull());
     }
+
+    @Test
+    @Transactional
+    void assertThatFindAllExpandedOnlyLoadsGivenRelationships() {
+        operation = operationRepository.saveAndFlush(operation);
+        entityManager.clear();
+
+        Page<Operation> operations = operationRepository.findAllExpanded(Set.of(Operation_.LABELS), PageRequest.of(0, 10));
+        Operation found = operations.getContent().stream().filter(o -> o.getId().equals(operation.getId())).findFirst().orElseThrow();
+        assertThat(Hibernate.isInitialized(found.getLabels())).isTrue();
+        assertThat(Hibernate.isInitialized(found.getBankAccount())).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void assertThatFindAllFieldsSelectsGivenFields() {
+        operation = operationRepository.saveAndFlush(operation);
+
+        Page<Map<String, Object>> operations = operationRepository.findAllFields(
+            Specification.where(null),
+            Set.of(Operation_.AMOUNT),
+            Set.of(Operation_.BANK_ACCOUNT),
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, Operation_.ID))
+        );
+        Map<String, Object> found = operations.getContent().get(0);
+        assertThat(found).containsOnlyKeys(Operation_.ID, Operation_.AMOUNT, Operation_.BANK_ACCOUNT);
+        assertThat(found).containsEntry(Operation_.ID, operation.getId());
+        assertThat(found.get(Operation_.BANK_ACCOUNT)).isEqualTo(
+            Map.of(BankAccount_.ID, bankAccount.getId(), BankAccount_.NAME, "Test Account", BankAccount_.BALANCE, new BigDecimal("1000.00"))
+        );
+        assertThat(operations.getTotalElements()).isEqualTo(numberOfOperations + 1);
+    }
 }
@@ -0,0 +1,449 @@
+package io.github.jhipster.sample.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.JhipsterSampleApplicationApp;
+import io.github.jhipster.sample.config.AsyncSyncConfiguration;
+import io.github.jhipster.sample.config.QueryCountConfiguration;
+import io.github.jhipster.sample.config.StatementCountingDataSource;
+import io.github.jhipster.sample.config.StatementCountingDataSource.ExecutedStatement;
+import io.github.jhipster.sample.service.OperationQueryService;
+import io.github.jhipster.sample.service.criteria.OperationCriteria;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Plans of the queries of the repositories, on a PostgreSQL database seeded with production volumes.
+ * <p>
+ * Every derived and {@code @Query} method of the repositories is run with sample arguments, and each statement it runs is
+ * explained with the same parameters. A plan fails when it reads sequentially a table of more than
+ * {@link #SEQUENTIAL_SCAN_MIN_ROWS} rows, or when one of its steps is estimated to return more than
+ * {@link #MAX_ESTIMATED_ROWS} rows, but under a {@code LIMIT} which stops it early. The methods reading whole tables by
+ * design are given their own {@link #THRESHOLDS}.
+ * <p>
+ * The operations are also filtered by the {@link #OPERATION_CRITERIA} which the clients combine the most.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(classes = { JhipsterSampleApplicationApp.class, AsyncSyncConfiguration.class, QueryCountConfiguration.class })
+class QueryPlanIT {
+
+    private static final int USERS = 50_000;
+
+    private static final int BANK_ACCOUNTS = 100_000;
+
+    private static final int LABELS = 1_000;
+
+    private static final int OPERATIONS = 500_000;
+
+    private static final int OUTBOX_EMAILS = 20_000;
+
+    private static final int MONTHS = 24;
+
+    /**
+     * The ids of the seeded rows start after this one, far from the ones of the sequence.
+     */
+    private static final long FIRST_ID = 1_000_000;
+
+    private static final long SEQUENTIAL_SCAN_MIN_ROWS = 10_000;
+
+    private static final long MAX_ESTIMATED_ROWS = 10_000;
+
+    private static final Threshold DEFAULT_THRESHOLD = new Threshold(false, MAX_ESTIMATED_ROWS);
+
+    private static final Threshold WHOLE_TABLE = new Threshold(true, Long.MAX_VALUE);
+
+    private static final Threshold DATE_RANGE = new Threshold(true, MAX_ESTIMATED_ROWS);
+
+    private static final Map<String, Threshold> THRESHOLDS = Map.of(
+        // the lists of all the entities, which the pages should be used instead of
+        "BankAccountRepository.findAllWithToOneRelationships()",
+        WHOLE_TABLE,
+        "OperationRepository.findAllWithToOneRelationships()",
+        WHOLE_TABLE,
+        // the total number of elements of the pages is counted on the whole table
+        "BankAccountRepository.findAllWithToOneRelationships(Pageable)",
+        WHOLE_TABLE,
+        "OperationRepository.findAllWithToOneRelationships(Pageable)",
+        WHOLE_TABLE,
+        "UserRepository.findAllByIdNotNullAndActivatedIsTrue(Pageable)",
+        WHOLE_TABLE,
+        // the search of the databases without full-text search, which PostgreSQL does not run
+        "OperationRepository.findIdsByDescriptionLike(String, Long, Limit)",
+        WHOLE_TABLE,
+        // a week is a large part of a monthly partition, which is read sequentially rather than through the date index
+        "labelId.equals, date.greaterThanOrEqual",
+        DATE_RANGE,
+        "date.greaterThanOrEqual, amount.lessThan",
+        DATE_RANGE
+    );
+
+    private static final Instant LAST_WEEK = Instant.now().minus(Duration.ofDays(7));
+
+    private static final Map<String, OperationCriteria> OPERATION_CRITERIA = Map.of(
+        "bankAccountId.equals",
+        criteria(criteria -> criteria.bankAccountId().setEquals(FIRST_ID + 1)),
+        "bankAccountId.equals, date.greaterThanOrEqual",
+        criteria(criteria -> {
+            criteria.bankAccountId().setEquals(FIRST_ID + 1);
+            criteria.date().setGreaterThanOrEqual(LAST_WEEK);
+        }),
+        "labelId.equals, date.greaterThanOrEqual",
+        criteria(criteria -> {
+            criteria.labelId().setEquals(FIRST_ID + 1);
+            criteria.date().setGreaterThanOrEqual(LAST_WEEK);
+        }),
+        "date.greaterThanOrEqual, amount.lessThan",
+        criteria(criteria -> {
+            criteria.date().setGreaterThanOrEqual(LAST_WEEK);
+            criteria.amount().setLessThan(BigDecimal.ZERO);
+        })
+    );
+
+    /**
+     * The criteria matching too many operations to count them, read a slice at a time.
+     */
+    private static final Map<String, OperationCriteria> UNCOUNTED_OPERATION_CRITERIA = Map.of(
+        "amount.greaterThan",
+        criteria(criteria -> criteria.amount().setGreaterThan(BigDecimal.ZERO)),
+        // the relationship does not hold the date by which the operations are partitioned: counting them looks up each
+        // operation carrying the labels in all the partitions
+        "labelId.in",
+        criteria(criteria -> criteria.labelId().setIn(List.of(FIRST_ID + 1, FIRST_ID + 2)))
+    );
+
+    private static final Set<String> EXPLAINED_STATEMENTS = Set.of("select", "with", "update", "delete");
+
+    /**
+     * The steps of a plan which read all the rows of their input before returning the first one.
+     */
+    private static final Set<String> BLOCKING_NODES = Set.of("Sort", "Aggregate", "Hash", "Materialize", "SetOp", "WindowAgg");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresql = new PostgreSQLContainer<>("postgres:17.4");
+
+    @DynamicPropertySource
+    static void registerDataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresql::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresql::getUsername);
+        registry.add("spring.datasource.password", postgresql::getPassword);
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // the database is seeded once for all the test factories
+    private static boolean seeded;
+
+    private final Map<String, Long> tableRows = new HashMap<>();
+
+    @TestFactory
+    @Timeout(value = 5, unit = TimeUnit.MINUTES) // seeding the database takes a while
+    Stream<DynamicTest> queryMethodsUseIndexes() {
+        seed();
+        Repositories repositories = new Repositories(applicationContext);
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElseThrow();
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                if (method.getDeclaringClass() != information.getRepositoryInterface()) {
+                    // the fragments implemented by hand run the query methods, or build their own queries
+                    continue;
+                }
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName() + parameterTypes(method);
+                tests.add(DynamicTest.dynamicTest(name, () -> checkPlans(name, () -> invoke(repository, method))));
+            }
+        }
+        return tests.stream();
+    }
+
+    @TestFactory
+    @Timeout(value = 5, unit = TimeUnit.MINUTES) // seeding the database takes a while
+    Stream<DynamicTest> operationCriteriaUseIndexes() {
+        seed();
+        OperationQueryService operationQueryService = applicationContext.getBean(OperationQueryService.class);
+        // the latest operations first, as the clients list them
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "date"));
+        return Stream.concat(
+            OPERATION_CRITERIA.entrySet()
+                .stream()
+                .map(entry ->
+                    DynamicTest.dynamicTest(entry.getKey(), () ->
+                        checkPlans(entry.getKey(), () ->
+                            operationQueryService.findByCriteria(entry.getValue(), OperationRepository.RELATIONS, pageable)
+                        )
+                    )
+                ),
+            UNCOUNTED_OPERATION_CRITERIA.entrySet()
+                .stream()
+                .map(entry ->
+                    DynamicTest.dynamicTest(entry.getKey() + ", without count", () ->
+                        checkPlans(entry.getKey(), () ->
+                            operationQueryService.findSliceByCriteria(entry.getValue(), OperationRepository.RELATIONS, pageable)
+                        )
+                    )
+                )
+        );
+    }
+
+    private static OperationCriteria criteria(Consumer<OperationCriteria> filters) {
+        OperationCriteria criteria = new OperationCriteria();
+        filters.accept(criteria);
+        return criteria;
+    }
+
+    private void seed() {
+        if (seeded) {
+            return;
+        }
+        seeded = true;
+        jdbcTemplate.queryForList(
+            "select create_operation_partition(cast(date_trunc('month', localtimestamp) - make_interval(months => month) as date)) " +
+            "from generate_series(1, ?) month",
+            MONTHS
+        );
+        // one user in 20 did not activate the account
+        jdbcTemplate.update(
+            "insert into jhi_user (id, login, password_hash, email, activated, lang_key, activation_key, created_by, created_date) " +
+            "select ? + i, 'user-' || i, repeat('x', 60), 'user-' || i || '@localhost', i % 20 <> 0, 'en', " +
+            "case when i % 20 = 0 then left(md5(i::text), 22) end, 'system', localtimestamp - make_interval(days => i % 730) " +
+            "from generate_series(1, ?) i",
+            FIRST_ID,
+            USERS
+        );
+        jdbcTemplate.update(
+            "insert into jhi_user_authority (user_id, authority_name) select ? + i, 'ROLE_USER' from generate_series(1, ?) i",
+            FIRST_ID,
+            USERS
+        );
+        jdbcTemplate.update(
+            "insert into bank_account (id, name, balance, user_id) select ? + i, 'account ' || i, 100, ? + 1 + i % ? " +
+            "from generate_series(1, ?) i",
+            FIRST_ID,
+            FIRST_ID,
+            USERS,
+            BANK_ACCOUNTS
+        );
+        jdbcTemplate.update("insert into label (id, label) select ? + i, 'label ' || i from generate_series(1, ?) i", FIRST_ID, LABELS);
+        // spread over the months, the latest first, half of them debits
+        jdbcTemplate.update(
+            "insert into operation (id, date, description, amount, bank_account_id) " +
+            "select ? + i, localtimestamp - make_interval(secs => i * ?), 'operation ' || i, i % 200 - 100, ? + 1 + i % ? " +
+            "from generate_series(1, ?) i",
+            FIRST_ID,
+            Duration.ofDays(30L * MONTHS).toSeconds() / OPERATIONS,
+            FIRST_ID,
+            BANK_ACCOUNTS,
+            OPERATIONS
+        );
+        jdbcTemplate.update(
+            "insert into rel_operation__label (operation_id, label_id) select ? + i, ? + 1 + i % ? from generate_series(1, ?) i",
+            FIRST_ID,
+            FIRST_ID,
+            LABELS,
+            OPERATIONS
+        );
+        // the emails which could not be sent, and a few waiting for their next attempt
+        jdbcTemplate.update(
+            "insert into outbox_email (id, recipient, subject, content, multipart, html, created_date, attempts, next_attempt_date) " +
+            "select ? + i, 'user-' || i || '@localhost', 'subject', 'content', false, true, localtimestamp, " +
+            "case when i % 100 = 0 then 1 else 8 end, localtimestamp + make_interval(hours => 1) from generate_series(1, ?) i",
+            FIRST_ID,
+            OUTBOX_EMAILS
+        );
+        jdbcTemplate.execute("analyze");
+    }
+
+    private void checkPlans(String name, Runnable query) throws Exception {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+        List<ExecutedStatement> statements = run(query);
+        if (statements.isEmpty()) {
+            throw new AssertionError(name + " ran no statement");
+        }
+        Threshold threshold = THRESHOLDS.getOrDefault(name, DEFAULT_THRESHOLD);
+        List<String> failures = new ArrayList<>();
+        for (ExecutedStatement statement : statements) {
+            String keyword = statement.sql().strip().split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+            if (!EXPLAINED_STATEMENTS.contains(keyword)) {
+                continue;
+            }
+            JsonNode plan = explain(statement);
+            List<String> problems = new ArrayList<>();
+            check(plan, false, threshold, problems);
+            if (!problems.isEmpty()) {
+                String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(plan);
+                failures.add(statement.sql() + "\n  " + String.join("\n  ", problems) + "\n" + json);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError(name + " has plans over the thresholds:\n" + String.join("\n", failures));
+        }
+    }
+
+    /**
+     * Run the query in a transaction rolled back, as the user of the first seeded bank account.
+     */
+    private List<ExecutedStatement> run(Runnable query) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("user-1", "user-1"));
+        StatementCountingDataSource.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                query.run();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        StatementCountingDataSource.StatementCount count = StatementCountingDataSource.stop();
+        return count.getStatements();
+    }
+
+    private static void invoke(Object repository, Method method) {
+        Object[] arguments = Arrays.stream(method.getParameters()).map(QueryPlanIT::sampleArgument).toArray();
+        try {
+            method.invoke(repository, arguments);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not run " + method, e);
+        }
+    }
+
+    private static Object sampleArgument(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (type == String.class) {
+            // the logins, emails and keys of the seeded users all look alike
+            return "user-1";
+        } else if (type == Long.class || type == long.class) {
+            return FIRST_ID + 1;
+        } else if (type == Integer.class || type == int.class) {
+            return 8;
+        } else if (type == Float.class || type == float.class) {
+            return 0.1f;
+        } else if (type == Instant.class) {
+            return Instant.now().minus(Duration.ofDays(90));
+        } else if (type == Pageable.class) {
+            return PageRequest.of(0, 20, Sort.by("id"));
+        } else if (type == Limit.class) {
+            return Limit.of(20);
+        } else if (Collection.class.isAssignableFrom(type)) {
+            return List.of(FIRST_ID + 1, FIRST_ID + 2);
+        }
+        throw new IllegalArgumentException("No sample argument of type " + type + " for " + parameter + ", add one to QueryPlanIT");
+    }
+
+    private JsonNode explain(ExecutedStatement statement) throws Exception {
+        String json = jdbcTemplate.query(
+            "explain (format json) " + statement.sql(),
+            preparedStatement -> bind(preparedStatement, statement.parameters()),
+            resultSet -> resultSet.next() ? resultSet.getString(1) : null
+        );
+        return objectMapper.readTree(json).get(0).get("Plan");
+    }
+
+    private static void bind(PreparedStatement preparedStatement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            Object parameter = parameters.get(i);
+            if (parameter == StatementCountingDataSource.NULL) {
+                preparedStatement.setNull(i + 1, Types.NULL);
+            } else {
+                preparedStatement.setObject(i + 1, parameter);
+            }
+        }
+    }
+
+    /**
+     * Check a step of a plan, and the steps it reads from.
+     *
+     * @param limited whether the step is stopped early by a {@code LIMIT}.
+     */
+    private void check(JsonNode plan, boolean limited, Threshold threshold, List<String> problems) {
+        String nodeType = plan.get("Node Type").asText();
+        if (!limited) {
+            if ("Seq Scan".equals(nodeType) && !threshold.sequentialScans()) {
+                String table = plan.get("Relation Name").asText();
+                long rows = tableRows.computeIfAbsent(table, key ->
+                    jdbcTemplate.queryForObject("select cast(reltuples as bigint) from pg_class where relname = ?", Long.class, key)
+                );
+                if (rows >= SEQUENTIAL_SCAN_MIN_ROWS) {
+                    problems.add("sequential scan of " + table + ", holding " + rows + " rows");
+                }
+            }
+            long estimatedRows = plan.get("Plan Rows").asLong();
+            if (estimatedRows > threshold.maxEstimatedRows()) {
+                problems.add(nodeType + " estimated to return " + estimatedRows + " rows");
+            }
+        }
+        boolean limitedInputs = "Limit".equals(nodeType) || (limited && !BLOCKING_NODES.contains(nodeType));
+        if (plan.has("Plans")) {
+            for (JsonNode input : plan.get("Plans")) {
+                check(input, limitedInputs, threshold, problems);
+            }
+        }
+    }
+
+    private static String parameterTypes(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    /**
+     * What the plans of a query method may do.
+     *
+     * @param sequentialScans whether the method may read sequentially the large tables.
+     * @param maxEstimatedRows the most rows each step of the plans may be estimated to return.
+     */
+    private record Threshold(boolean sequentialScans, long maxEstimatedRows) {}
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import io.github.jhipster.sample.IntegrationTest;
 import io.github.jhipster.sample.domain.Authority;
 import io.github.jhipster.sample.domain.User;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
@@ -39,6 +40,9 @@ class UserRepositoryTest {
     @Autowired
     private AuthorityRepository authorityRepository;
 
+    @Autowired
+    private EntityManager em;
+
     private User user;
     private Long numberOfUsers;
 
@@ -114,6 +118,30 @@ class UserRepositoryTest {
         assertThat(foundUser).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void assertThatKeysAreStoredHashed() {
+        user.setActivationKey("activation-key-123");
+        user.setResetKey("reset-key-123");
+        userRepository.saveAndFlush(user);
+        em.clear();
+
+        User persistedUser = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(persistedUser.getActivationKey()).isNull();
+        assertThat(persistedUser.getActivationKeyHash()).isEqualTo(User.hashKey("activation-key-123")).hasSize(22);
+        assertThat(persistedUser.getResetKey()).isNull();
+        assertThat(persistedUser.getResetKeyHash()).isEqualTo(User.hashKey("reset-key-123")).hasSize(22);
+    }
+
+    @Test
+    @Transactional
+    void assertThatNullKeysDoNotMatchUsersWithoutKeys() {
+        userRepository.saveAndFlush(user);
+
+        assertThat(userRepository.findOneByActivationKey(null)).isEmpty();
+        assertThat(userRepository.findOneByResetKey(null)).isEmpty();
+    }
+
     @Test
     @Transactional
     void assertThatFindOneByEmailIgnoreCaseWorks() {
@@ -0,0 +1,84 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.service.dto.DashboardDTO;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class DashboardServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final BankAccountService bankAccountService = mock(BankAccountService.class);
+
+    private final OperationRepository operationRepository = mock(OperationRepository.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void partQueuedPastItsTimeoutDoesNotReachTheDatabase() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDashboard().setPartTimeout(Duration.ofMillis(50));
+        // runs each part on the calling thread, once its timeout has elapsed
+        Executor saturatedExecutor = task -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        };
+        DashboardService dashboardService = new DashboardService(
+            userRepository,
+            bankAccountService,
+            operationRepository,
+            saturatedExecutor,
+            transactionManager,
+            applicationProperties
+        );
+
+        DashboardDTO dashboard = dashboardService.getDashboard("user");
+
+        assertThat(dashboard.getUnavailableParts()).containsExactlyInAnyOrder(
+            DashboardDTO.ACCOUNT_PART,
+            DashboardDTO.BANK_ACCOUNTS_PART,
+            DashboardDTO.LATEST_OPERATIONS_PART,
+            DashboardDTO.LABEL_TOTALS_PART
+        );
+        verifyNoInteractions(transactionManager, userRepository, bankAccountService, operationRepository);
+    }
+
+    @Test
+    void partRejectedByTheExecutorIsUnavailable() {
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException("saturated");
+        };
+        DashboardService dashboardService = new DashboardService(
+            userRepository,
+            bankAccountService,
+            operationRepository,
+            rejectingExecutor,
+            transactionManager,
+            new ApplicationProperties()
+        );
+
+        DashboardDTO dashboard = dashboardService.getDashboard("user");
+
+        assertThat(dashboard.getUnavailableParts()).containsExactlyInAnyOrder(
+            DashboardDTO.ACCOUNT_PART,
+            DashboardDTO.BANK_ACCOUNTS_PART,
+            DashboardDTO.LATEST_OPERATIONS_PART,
+            DashboardDTO.LABEL_TOTALS_PART
+        );
+        verifyNoInteractions(transactionManager, userRepository, bankAccountService, operationRepository);
+    }
+}
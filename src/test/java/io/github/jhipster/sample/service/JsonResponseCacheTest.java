@@ -0,0 +1,75 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class JsonResponseCacheTest {
+
+    private Cache cache;
+
+    private JsonResponseCache jsonResponseCache;
+
+    @BeforeEach
+    void setup() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(JsonResponseCache.LABELS_CACHE);
+        cache = cacheManager.getCache(JsonResponseCache.LABELS_CACHE);
+        jsonResponseCache = new JsonResponseCache(cacheManager, new ObjectMapper());
+    }
+
+    @Test
+    void serializedResponseIsCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Optional<byte[]> json = jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, 1L, () -> load(loads));
+        Optional<byte[]> cached = jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, 1L, () -> load(loads));
+
+        assertThat(json).map(bytes -> new String(bytes, StandardCharsets.UTF_8)).contains("{\"label\":\"load 1\"}");
+        assertThat(cached.orElseThrow()).isSameAs(json.orElseThrow());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void missingEntityIsNotCached() {
+        assertThat(jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, 1L, Optional::empty)).isEmpty();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void evictedResponseIsLoadedAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, 1L, () -> load(loads));
+
+        jsonResponseCache.evict(JsonResponseCache.LABELS_CACHE, 1L);
+
+        assertThat(cache.get(1L)).isNull();
+        jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, 1L, () -> load(loads));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void responseLoadedDuringEvictionIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Optional<byte[]> json = jsonResponseCache.get(JsonResponseCache.LABELS_CACHE, 1L, () -> {
+            // a writer evicts the responses while this one is being loaded
+            jsonResponseCache.clear(JsonResponseCache.LABELS_CACHE);
+            return load(loads);
+        });
+
+        assertThat(json).isPresent();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private static Optional<Map<String, String>> load(AtomicInteger loads) {
+        return Optional.of(Map.of("label", "load " + loads.incrementAndGet()));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.OutboxEmail;
+import io.github.jhipster.sample.repository.OutboxEmailRepository;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link MailDispatcher}, against an in-process SMTP server.
+ */
+@IntegrationTest
+@TestPropertySource(properties = { "spring.mail.host=localhost", "spring.mail.port=3025" })
+class MailDispatcherIT {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxEmailRepository.deleteAll();
+    }
+
+    @Test
+    void dispatchSendsAllDueEmails() throws Exception {
+        Instant now = Instant.now();
+        outboxEmailRepository.saveAll(IntStream.range(0, 120).mapToObj(i -> createEntity("user" + i + "@example.com", now)).toList());
+
+        mailDispatcher.dispatchPendingEmails();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(120);
+        assertThat(outboxEmailRepository.count()).isZero();
+    }
+
+    @Test
+    void dispatchSkipsEmailsNotYetDue() {
+        outboxEmailRepository.save(createEntity("later@example.com", Instant.now().plusSeconds(3600)));
+
+        mailDispatcher.dispatchPendingEmails();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(outboxEmailRepository.count()).isOne();
+    }
+
+    @Test
+    void failedEmailIsRetriedWithBackoff() throws Exception {
+        greenMail.stop();
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+
+        OutboxEmail failed = outboxEmailRepository.findAll().get(0);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptDate()).isAfter(Instant.now());
+        assertThat(failed.getLastError()).isNotBlank();
+
+        greenMail.start();
+        mailDispatcher.dispatchPendingEmails();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        failed.setNextAttemptDate(Instant.now());
+        outboxEmailRepository.save(failed);
+        mailDispatcher.dispatchPendingEmails();
+
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        assertThat(messages).hasSize(1);
+        assertThat(messages[0].getSubject()).isEqualTo("testSubject");
+        assertThat(outboxEmailRepository.count()).isZero();
+    }
+
+    @Test
+    void emailsPastTheRetentionArePurged() {
+        OutboxEmail old = createEntity("old@example.com", Instant.now().plus(1, ChronoUnit.HOURS));
+        old.setCreatedDate(Instant.now().minus(4, ChronoUnit.DAYS));
+        outboxEmailRepository.save(old);
+        OutboxEmail recent = outboxEmailRepository.save(createEntity("recent@example.com", Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        mailDispatcher.purgeOldEmails();
+
+        assertThat(outboxEmailRepository.findAll()).extracting(OutboxEmail::getId).containsExactly(recent.getId());
+    }
+
+    private static OutboxEmail createEntity(String recipient, Instant nextAttemptDate) {
+        return new OutboxEmail()
+            .recipient(recipient)
+            .subject("testSubject")
+            .content("testContent")
+            .multipart(false)
+            .html(false)
+            .createdDate(Instant.now())
+            .nextAttemptDate(nextAttemptDate);
+    }
+}
@@ -2,168 +2,177 @@ package io.github.jhipster.sample.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
-import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.OutboxEmail;
 import io.github.jhipster.sample.domain.User;
-import jakarta.mail.MessagingException;
+import io.github.jhipster.sample.repository.OutboxEmailRepository;
+import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
-import org.apache.commons.lang3.RandomStringUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
- * Unit tests for the {@link MailService}.
+ * Unit tests for the {@link MailService} and its {@link MailDispatcher}, over an outbox kept in memory.
  */
-@IntegrationTest
 class MailServiceTest {
 
-    @Autowired
-    private MailService mailService;
+    private final List<OutboxEmail> outbox = new ArrayList<>();
 
-    @MockBean
-    private JavaMailSender javaMailSender;
+    private final OutboxEmailRepository outboxEmailRepository = mock(OutboxEmailRepository.class);
 
-    @MockBean
-    private MessageSource messageSource;
+    private final JavaMailSender javaMailSender = mock(JavaMailSender.class);
 
-    @MockBean
-    private SpringTemplateEngine templateEngine;
+    private final MailTemplateRenderer mailTemplateRenderer = mock(MailTemplateRenderer.class);
 
-    @MockBean
-    private JHipsterProperties jHipsterProperties;
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
 
-    @MockBean
-    private JHipsterProperties.Mail mailProperties;
+    private MailService mailService;
 
-    private User user;
-    private MimeMessage mimeMessage;
+    private MailDispatcher mailDispatcher;
 
     @BeforeEach
-    void setUp() throws Exception {
-        user = new User();
-        user.setLogin("testuser");
-        user.setEmail("testuser@example.com");
-        user.setLangKey("en");
-        user.setFirstName("Test");
-        user.setLastName("User");
-
-        mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-        when(jHipsterProperties.getMail()).thenReturn(mailProperties);
-        when(mailProperties.getFrom()).thenReturn("test@example.com");
-        when(mailProperties.getBaseUrl()).thenReturn("http://localhost:8080");
-
-        // Mock cache properties to prevent NullPointerException in CacheConfiguration
-        JHipsterProperties.Cache cacheProperties = mock(JHipsterProperties.Cache.class);
-        JHipsterProperties.Cache.Ehcache ehcacheProperties = mock(JHipsterProperties.Cache.Ehcache.class);
-        when(jHipsterProperties.getCache()).thenReturn(cacheProperties);
-        when(cacheProperties.getEhcache()).thenReturn(ehcacheProperties);
-        when(ehcacheProperties.getMaxEntries()).thenReturn(100L);
-        when(ehcacheProperties.getTimeToLiveSeconds()).thenReturn(3600);
-
-        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenReturn("Test Subject");
-        when(templateEngine.process(anyString(), any())).thenReturn("<html>Test Content</html>");
-    }
-
-    @Test
-    void testSendEmail() throws Exception {
-        mailService.sendEmail("test@example.com", "Test Subject", "Test Content", false, false);
-
-        verify(javaMailSender, times(1)).createMimeMessage();
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+    void setUp() {
+        when(outboxEmailRepository.save(any(OutboxEmail.class))).thenAnswer(invocation -> {
+            OutboxEmail email = invocation.getArgument(0);
+            email.setId((long) outbox.size() + 1);
+            outbox.add(email);
+            return email;
+        });
+        when(outboxEmailRepository.findAllDue(any(Instant.class), anyInt(), any(Limit.class))).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            int maxAttempts = invocation.getArgument(1);
+            return outbox
+                .stream()
+                .filter(email -> email.getAttempts() < maxAttempts && !email.getNextAttemptDate().isAfter(now))
+                .toList();
+        });
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            outbox.removeIf(email -> ids.contains(email.getId()));
+            return null;
+        })
+            .when(outboxEmailRepository)
+            .deleteAllByIdInBatch(anyCollection());
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("test@localhost");
+        mailDispatcher = new MailDispatcher(
+            outboxEmailRepository,
+            javaMailSender,
+            jHipsterProperties,
+            applicationProperties,
+            mock(PlatformTransactionManager.class)
+        );
+        mailService = new MailService(outboxEmailRepository, mailDispatcher, Runnable::run, mailTemplateRenderer);
+        TransactionSynchronizationManager.initSynchronization();
     }
 
-    @Test
-    void testSendEmailWithMultipart() throws Exception {
-        mailService.sendEmail("test@example.com", "Test Subject", "Test Content", true, false);
-
-        verify(javaMailSender, times(1)).createMimeMessage();
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
     }
 
     @Test
-    void testSendEmailWithHtml() throws Exception {
-        mailService.sendEmail("test@example.com", "Test Subject", "<html>Test</html>", false, true);
+    void emailIsQueuedAndSentOnceCommitted() {
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
 
-        verify(javaMailSender, times(1)).createMimeMessage();
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
-    }
+        assertThat(outbox).singleElement().satisfies(email -> {
+            assertThat(email.getRecipient()).isEqualTo("john.doe@example.com");
+            assertThat(email.getAttempts()).isZero();
+            assertThat(email.getNextAttemptDate()).isBeforeOrEqualTo(Instant.now());
+        });
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
 
-    @Test
-    void testSendEmailFromTemplate() throws Exception {
-        mailService.sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
 
-        verify(templateEngine, times(1)).process(eq("mail/activationEmail"), any());
-        verify(messageSource, times(1)).getMessage(eq("email.activation.title"), any(), eq(Locale.forLanguageTag("en")));
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+        verify(javaMailSender).send(any(MimeMessage[].class));
+        assertThat(outbox).isEmpty();
     }
 
     @Test
-    void testSendEmailFromTemplateWithNullEmail() throws Exception {
-        user.setEmail(null);
+    void templateEmailWithoutAddressIsNotQueued() {
+        User user = new User();
+        user.setLogin("nomail");
 
-        mailService.sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
-
-        verify(templateEngine, never()).process(anyString(), any());
-        verify(javaMailSender, never()).send(any(MimeMessage.class));
-    }
-
-    @Test
-    void testSendActivationEmail() throws Exception {
         mailService.sendActivationEmail(user);
 
-        verify(templateEngine, times(1)).process(eq("mail/activationEmail"), any());
-        verify(messageSource, times(1)).getMessage(eq("email.activation.title"), any(), any(Locale.class));
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+        verifyNoInteractions(mailTemplateRenderer);
+        assertThat(outbox).isEmpty();
     }
 
     @Test
-    void testSendCreationEmail() throws Exception {
-        mailService.sendCreationEmail(user);
-
-        verify(templateEngine, times(1)).process(eq("mail/creationEmail"), any());
-        verify(messageSource, times(1)).getMessage(eq("email.activation.title"), any(), any(Locale.class));
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+    void failedEmailIsRetriedWithBackoff() {
+        doThrow(new MailSendException("SMTP server unavailable")).when(javaMailSender).send(any(MimeMessage[].class));
+        Duration initialBackoff = applicationProperties.getMailOutbox().getInitialBackoff();
+        OutboxEmail email = queue(0);
+
+        Instant before = Instant.now();
+        mailDispatcher.dispatchPendingEmails();
+
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).contains("SMTP server unavailable");
+        assertThat(email.getNextAttemptDate()).isBetween(before.plus(initialBackoff), Instant.now().plus(initialBackoff));
+
+        // not due before its backoff
+        mailDispatcher.dispatchPendingEmails();
+        assertThat(email.getAttempts()).isEqualTo(1);
+
+        email.setNextAttemptDate(Instant.now());
+        before = Instant.now();
+        mailDispatcher.dispatchPendingEmails();
+
+        Duration doubledBackoff = initialBackoff.multipliedBy(2);
+        assertThat(email.getAttempts()).isEqualTo(2);
+        assertThat(email.getNextAttemptDate()).isBetween(before.plus(doubledBackoff), Instant.now().plus(doubledBackoff));
+        assertThat(outbox).containsExactly(email);
     }
 
     @Test
-    void testSendPasswordResetMail() throws Exception {
-        mailService.sendPasswordResetMail(user);
+    void emailIsGivenUpOnAfterTheLastAttempt() {
+        doThrow(new MailSendException("SMTP server unavailable")).when(javaMailSender).send(any(MimeMessage[].class));
+        int maxAttempts = applicationProperties.getMailOutbox().getMaxAttempts();
+        OutboxEmail email = queue(maxAttempts - 1);
 
-        verify(templateEngine, times(1)).process(eq("mail/passwordResetEmail"), any());
-        verify(messageSource, times(1)).getMessage(eq("email.reset.title"), any(), any(Locale.class));
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
-    }
+        mailDispatcher.dispatchPendingEmails();
 
-    @Test
-    void testSendEmailHandlesMessagingException() throws Exception {
-        doThrow(new MessagingException("Test exception")).when(javaMailSender).send(any(MimeMessage.class));
+        assertThat(email.getAttempts()).isEqualTo(maxAttempts);
+        assertThat(email.getLastError()).contains("SMTP server unavailable");
+        assertThat(email.getContent()).isEmpty();
 
-        // Should not throw exception, just log
-        mailService.sendEmail("test@example.com", "Test Subject", "Test Content", false, false);
+        email.setNextAttemptDate(Instant.now());
+        mailDispatcher.dispatchPendingEmails();
 
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+        verify(javaMailSender, times(1)).send(any(MimeMessage[].class));
     }
 
-    @Test
-    void testSendEmailHandlesMailException() throws Exception {
-        doThrow(new org.springframework.mail.MailException("Test exception") {}).when(javaMailSender).send(any(MimeMessage.class));
-
-        // Should not throw exception, just log
-        mailService.sendEmail("test@example.com", "Test Subject", "Test Content", false, false);
-
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+    private OutboxEmail queue(int attempts) {
+        OutboxEmail email = new OutboxEmail()
+            .recipient("john.doe@example.com")
+            .subject("testSubject")
+            .content("testContent")
+            .multipart(false)
+            .html(false)
+            .createdDate(Instant.now())
+            .nextAttemptDate(Instant.now());
+        email.setAttempts(attempts);
+        return outboxEmailRepository.save(email);
     }
 }
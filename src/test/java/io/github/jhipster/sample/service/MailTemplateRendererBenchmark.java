@@ -0,0 +1,102 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.domain.User;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * JMH benchmark comparing a bulk send rendered by the {@link SpringTemplateEngine} with the {@link MailTemplateRenderer}.
+ * <p>
+ * Run it with the {@link #main(String[])} method, from the IDE or after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(MailTemplateRendererBenchmark.RECIPIENTS)
+public class MailTemplateRendererBenchmark {
+
+    static final int RECIPIENTS = 1000;
+
+    private static final String TEMPLATE_NAME = "mail/activationEmail";
+
+    private static final String TITLE_KEY = "email.activation.title";
+
+    @Param({ "en" })
+    private String langKey;
+
+    private SpringTemplateEngine templateEngine;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private User[] users;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, true);
+
+        users = new User[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++) {
+            User user = new User();
+            user.setLogin("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setLangKey(langKey);
+            user.setActivationKey("activationkey" + i);
+            users[i] = user;
+        }
+    }
+
+    @Benchmark
+    public void templateEngine(Blackhole blackhole) {
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            Context context = new Context(locale);
+            context.setVariable("user", user);
+            context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+            blackhole.consume(templateEngine.process(TEMPLATE_NAME, context));
+            blackhole.consume(messageSource.getMessage(TITLE_KEY, null, locale));
+        }
+    }
+
+    @Benchmark
+    public void mailTemplateRenderer(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(mailTemplateRenderer.render(user, TEMPLATE_NAME, TITLE_KEY));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailTemplateRendererBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.config.Constants;
+import io.github.jhipster.sample.domain.User;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailTemplateRenderer}, checking its output against the {@link SpringTemplateEngine}.
+ */
+@IntegrationTest
+class MailTemplateRendererIT {
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, true);
+        user = new User();
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setLogin("john.doe");
+        user.setEmail("john.doe@example.com");
+        user.setActivationKey("activationkey1");
+        user.setResetKey("resetkey1");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail", "mail/testEmail" })
+    void renderMatchesTemplateEngine(String templateName) {
+        assertThat(mailTemplateRenderer.render(user, templateName, "email.test.title").content()).isEqualTo(process(templateName));
+
+        User otherUser = new User();
+        otherUser.setLangKey(Constants.DEFAULT_LANGUAGE);
+        otherUser.setLogin("jane");
+        otherUser.setActivationKey("activationkey2");
+        otherUser.setResetKey("resetkey2");
+        user = otherUser;
+        assertThat(mailTemplateRenderer.render(user, templateName, "email.test.title").content()).isEqualTo(process(templateName));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "mail/activationEmail", "mail/testEmail" })
+    void renderEscapesLikeTemplateEngine(String templateName) {
+        mailTemplateRenderer.render(user, templateName, "email.test.title");
+
+        user.setLogin("o'hara&co<script>");
+        String content = mailTemplateRenderer.render(user, templateName, "email.test.title").content();
+        assertThat(content).isEqualTo(process(templateName)).doesNotContain("<script>");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "mail/activationEmail" })
+    void renderNullFieldsLikeTemplateEngine(String templateName) {
+        mailTemplateRenderer.render(user, templateName, "email.test.title");
+
+        user.setActivationKey(null);
+        assertThat(mailTemplateRenderer.render(user, templateName, "email.test.title").content()).isEqualTo(process(templateName));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "email.activation.title", "email.test.title" })
+    void renderUsesLocalizedSubject(String titleKey) {
+        assertThat(mailTemplateRenderer.render(user, "mail/testEmail", titleKey).subject()).isEqualTo(
+            messageSource.getMessage(titleKey, null, Locale.forLanguageTag(Constants.DEFAULT_LANGUAGE))
+        );
+    }
+
+    private String process(String templateName) {
+        Context context = new Context(Locale.forLanguageTag(user.getLangKey()));
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+}
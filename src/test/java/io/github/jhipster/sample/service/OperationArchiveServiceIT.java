@@ -0,0 +1,316 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.repository.LabelRepository;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.service.criteria.OperationCriteria;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Integration tests for {@link OperationArchiveService}.
+ */
+@IntegrationTest
+class OperationArchiveServiceIT {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private OperationArchiveService operationArchiveService;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final OperationCriteria noCriteria = new OperationCriteria();
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    private BankAccount bankAccount;
+
+    private Label label;
+
+    private final List<Operation> old = new ArrayList<>();
+
+    private Operation recent;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties.OperationArchive properties = applicationProperties.getOperationArchive();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(2);
+
+        bankAccount = bankAccountRepository.save(new BankAccount().name("archived").balance(BigDecimal.TEN));
+        label = labelRepository.save(new Label().label("archived"));
+        for (int i = 0; i < 3; i++) {
+            old.add(
+                operationRepository.save(
+                    new Operation()
+                        .date(now.minus(730 + i, ChronoUnit.DAYS))
+                        .description("old " + i)
+                        .amount(BigDecimal.ONE)
+                        .bankAccount(bankAccount)
+                        .addLabel(label)
+                )
+            );
+        }
+        recent = operationRepository.save(new Operation().date(now).description("recent").amount(BigDecimal.ONE).bankAccount(bankAccount));
+    }
+
+    @AfterEach
+    void cleanup() {
+        operationRepository.deleteAll(
+            operationRepository
+                .findAllWithEagerRelationships()
+                .stream()
+                .filter(operation -> bankAccount.equals(operation.getBankAccount()))
+                .toList()
+        );
+        labelRepository.delete(label);
+        bankAccountRepository.delete(bankAccount);
+        ApplicationProperties.OperationArchive defaults = new ApplicationProperties().getOperationArchive();
+        ApplicationProperties.OperationArchive properties = applicationProperties.getOperationArchive();
+        properties.setEnabled(defaults.isEnabled());
+        properties.setDirectory(defaults.getDirectory());
+        properties.setSegmentSize(defaults.getSegmentSize());
+    }
+
+    @Test
+    void closedPeriodsAreMovedToSegments() throws Exception {
+        long count = operationRepository.count();
+
+        operationArchiveService.archiveClosedPeriods();
+
+        assertThat(operationRepository.count()).isEqualTo(count - 3);
+        assertThat(operationRepository.findById(recent.getId())).isPresent();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertThat(segments).hasSize(2).allMatch(segment -> segment.getFileName().toString().endsWith(".jsonl.gz"));
+            for (Path segment : segments) {
+                assertThat(Files.getPosixFilePermissions(segment)).doesNotContain(PosixFilePermission.OWNER_WRITE);
+            }
+        }
+    }
+
+    @Test
+    void bothTiersAreRead() {
+        long count = operationRepository.count();
+        operationArchiveService.archiveClosedPeriods();
+
+        Page<Operation> page = operationArchiveService.findAll(
+            noCriteria,
+            true,
+            OperationRepository.RELATIONS,
+            PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "date"))
+        );
+        assertThat(page.getTotalElements()).isEqualTo(count);
+        assertThat(page.getContent()).extracting(Operation::getDescription).containsExactly("recent", "old 0");
+        assertThat(page.getContent().get(1).getLabels()).extracting(Label::getLabel).containsExactly("archived");
+        assertThat(page.getContent().get(1).getBankAccount().getName()).isEqualTo("archived");
+
+        List<Operation> all = operationArchiveService.findAll(noCriteria, true, Set.of(), PageRequest.of(0, (int) count)).getContent();
+        assertThat(all).hasSize((int) count);
+        assertThat(all.subList(all.size() - 3, all.size()))
+            .extracting(Operation::getDescription)
+            .containsExactly("old 2", "old 1", "old 0");
+        assertThat(all.get(all.size() - 1).getLabels()).isNull();
+        assertThat(all.get(all.size() - 1).getBankAccount().getId()).isEqualTo(bankAccount.getId());
+
+        assertThat(operationArchiveService.findAll(noCriteria, true, Set.of(), PageRequest.of(1, (int) count - 1)).getContent())
+            .extracting(Operation::getDescription)
+            .containsExactly("old 0");
+    }
+
+    @Test
+    void sortedPagesFollowEachOther() {
+        operationArchiveService.archiveClosedPeriods();
+        // an operation of a closed period, recorded after its archival, between the archived ones
+        operationRepository.save(
+            new Operation()
+                .date(now.minus(731, ChronoUnit.DAYS).plus(1, ChronoUnit.HOURS))
+                .description("late")
+                .amount(BigDecimal.ONE)
+                .bankAccount(bankAccount)
+        );
+        List<Operation> all = operationArchiveService.findAll(noCriteria, true, Set.of(), Pageable.unpaged()).getContent();
+
+        assertPagesFollowEachOther(all, Sort.by("date"), Comparator.comparing(Operation::getDate).thenComparing(Operation::getId));
+        assertPagesFollowEachOther(
+            all,
+            Sort.by(Sort.Direction.DESC, "date"),
+            Comparator.comparing(Operation::getDate).reversed().thenComparing(Operation::getId)
+        );
+        assertPagesFollowEachOther(all, Sort.by(Sort.Direction.DESC, "id"), Comparator.comparing(Operation::getId).reversed());
+    }
+
+    private void assertPagesFollowEachOther(List<Operation> all, Sort sort, Comparator<Operation> order) {
+        List<Long> ids = new ArrayList<>();
+        Page<Operation> page = operationArchiveService.findAll(noCriteria, true, Set.of(), PageRequest.of(0, 3, sort));
+        ids.addAll(page.getContent().stream().map(Operation::getId).toList());
+        while (page.hasNext()) {
+            page = operationArchiveService.findAll(noCriteria, true, Set.of(), page.nextPageable());
+            ids.addAll(page.getContent().stream().map(Operation::getId).toList());
+        }
+        assertThat(page.getTotalElements()).isEqualTo(all.size());
+        assertThat(ids).containsExactlyElementsOf(all.stream().sorted(order).map(Operation::getId).toList());
+    }
+
+    @Test
+    void filteredReadsIncludeArchivedOperations() {
+        operationArchiveService.archiveClosedPeriods();
+        OperationCriteria criteria = new OperationCriteria();
+        criteria.bankAccountId().setEquals(bankAccount.getId());
+        criteria.description().setContains("OLD");
+
+        Page<Operation> page = operationArchiveService.findAll(criteria, true, Set.of(), PageRequest.of(0, 10, Sort.by("date")));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Operation::getDescription).containsExactly("old 2", "old 1", "old 0");
+        assertThat(operationArchiveService.count(criteria, true)).isEqualTo(3);
+
+        OperationCriteria labelled = new OperationCriteria();
+        labelled.labelId().setEquals(label.getId());
+        labelled.date().setLessThan(now.minus(730, ChronoUnit.DAYS));
+        assertThat(operationArchiveService.findAll(labelled, true, Set.of(), PageRequest.of(0, 10, Sort.by("id"))).getContent())
+            .extracting(Operation::getDescription)
+            .containsExactly("old 1", "old 2");
+
+        OperationCriteria otherBankAccount = new OperationCriteria();
+        otherBankAccount.bankAccountId().setEquals(bankAccount.getId() + 1);
+        assertThat(operationArchiveService.count(otherBankAccount, true)).isZero();
+    }
+
+    @Test
+    void slicesIncludeArchivedOperations() {
+        operationArchiveService.archiveClosedPeriods();
+        OperationCriteria criteria = new OperationCriteria();
+        criteria.bankAccountId().setEquals(bankAccount.getId());
+
+        Sort sort = Sort.by(Sort.Direction.DESC, "date");
+
+        Slice<Operation> slice = operationArchiveService.findSlice(criteria, true, Set.of(), PageRequest.of(0, 2, sort));
+        assertThat(slice.getContent()).extracting(Operation::getDescription).containsExactly("recent", "old 0");
+        assertThat(slice.hasNext()).isTrue();
+
+        slice = operationArchiveService.findSlice(criteria, true, Set.of(), slice.nextPageable());
+        assertThat(slice.getContent()).extracting(Operation::getDescription).containsExactly("old 1", "old 2");
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    void archiveIsOnlyReadWhenAskedFor() throws Exception {
+        long count = operationRepository.count();
+        operationArchiveService.archiveClosedPeriods();
+        // a read opening a segment would fail
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path segment : files.toList()) {
+                assertThat(segment.toFile().setWritable(true)).isTrue();
+                Files.writeString(segment, "not a segment");
+            }
+        }
+        OperationCriteria recentOnly = new OperationCriteria();
+        recentOnly.date().setGreaterThan(now.minus(10, ChronoUnit.DAYS));
+
+        Page<Operation> page = operationArchiveService.findAll(noCriteria, false, Set.of(), PageRequest.of(0, 10));
+        assertThat(page.getTotalElements()).isEqualTo(count - 3);
+        assertThat(operationArchiveService.count(recentOnly, false)).isPositive();
+        assertThat(operationArchiveService.findSlice(recentOnly, false, Set.of(), PageRequest.of(0, 10)).getContent()).isNotEmpty();
+        assertThat(operationArchiveService.findArchived(recent.getId(), Set.of())).isEmpty();
+    }
+
+    @Test
+    void archiveIsReadFromTheLowerBoundOfTheDates() {
+        operationArchiveService.archiveClosedPeriods();
+        OperationCriteria criteria = new OperationCriteria();
+        criteria.bankAccountId().setEquals(bankAccount.getId());
+        criteria.date().setGreaterThanOrEqual(now.minus(731, ChronoUnit.DAYS));
+
+        assertThat(operationArchiveService.findAll(criteria, false, Set.of(), PageRequest.of(0, 10, Sort.by("date"))).getContent())
+            .extracting(Operation::getDescription)
+            .containsExactly("old 1", "old 0", "recent");
+    }
+
+    @Test
+    void archivedOperationsAreOnlySortedByDateOrId() {
+        operationArchiveService.archiveClosedPeriods();
+
+        assertThatExceptionOfType(ArchiveSortUnsupportedException.class).isThrownBy(() ->
+            operationArchiveService.findAll(noCriteria, true, Set.of(), PageRequest.of(0, 2, Sort.by("description")))
+        );
+    }
+
+    @Test
+    void archivedOperationIsFoundById() {
+        operationArchiveService.archiveClosedPeriods();
+
+        for (Operation operation : old) {
+            Operation archived = operationArchiveService.findArchived(operation.getId(), OperationRepository.RELATIONS).orElseThrow();
+            assertThat(archived.getDescription()).isEqualTo(operation.getDescription());
+            assertThat(archived.getLabels()).extracting(Label::getLabel).containsExactly("archived");
+        }
+        assertThat(operationArchiveService.findArchived(recent.getId(), OperationRepository.RELATIONS)).isEmpty();
+    }
+
+    @Test
+    void pendingSegmentOfRolledBackArchivalIsDeleted() throws Exception {
+        Path pending = directory.resolve("operations-0-0-" + recent.getId() + "-" + recent.getId() + "-1.jsonl.gz.pending");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(pending))) {
+            objectMapper.writeValue(out, recent);
+        }
+        ApplicationProperties.OperationArchive properties = applicationProperties.getOperationArchive();
+        Duration archiveAfter = properties.getArchiveAfter();
+        properties.setArchiveAfter(Duration.ofDays(3650));
+        try {
+            operationArchiveService.archiveClosedPeriods();
+        } finally {
+            properties.setArchiveAfter(archiveAfter);
+        }
+
+        assertThat(pending).doesNotExist();
+        assertThat(directory.resolve("operations-0-0-" + recent.getId() + "-" + recent.getId() + "-1.jsonl.gz")).doesNotExist();
+        assertThat(operationRepository.findById(recent.getId())).isPresent();
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Monthly partitions of the operation table, on a PostgreSQL database migrated with the Liquibase changelogs.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OperationPartitionIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresql = new PostgreSQLContainer<>("postgres:17.4");
+
+    private static DriverManagerDataSource dataSource;
+
+    private final YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ApplicationProperties applicationProperties;
+
+    private OperationPartitionService operationPartitionService;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        dataSource = new DriverManagerDataSource(postgresql.getJdbcUrl(), postgresql.getUsername(), postgresql.getPassword());
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:config/liquibase/master.xml");
+        liquibase.setContexts("test");
+        liquibase.afterPropertiesSet();
+    }
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("delete from rel_operation__label");
+        jdbcTemplate.update("delete from operation");
+        // the ids of the operations of the detached partitions are kept
+        jdbcTemplate.update("delete from operation_id");
+        applicationProperties = new ApplicationProperties();
+        operationPartitionService = new OperationPartitionService(
+            jdbcTemplate,
+            new DataSourceTransactionManager(dataSource),
+            applicationProperties
+        );
+    }
+
+    @Test
+    void partitionsOfComingMonthsAreCreatedByMigration() {
+        assertThat(partitions()).contains(
+            partitionName(currentMonth),
+            partitionName(currentMonth.plusMonths(1)),
+            partitionName(currentMonth.plusMonths(3)),
+            "operation_default"
+        );
+    }
+
+    @Test
+    void operationsOfNewPartitionAreMovedOutOfDefault() {
+        YearMonth farMonth = currentMonth.plusMonths(12);
+        insertOperation(1L, farMonth);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from operation_default", Integer.class)).isOne();
+
+        applicationProperties.getOperationPartitions().setMonthsAhead(12);
+        operationPartitionService.maintainPartitions(currentMonth);
+
+        assertThat(partitions()).contains(partitionName(farMonth));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from operation_default", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + partitionName(farMonth), Integer.class)).isOne();
+    }
+
+    @Test
+    void oldPartitionsAreDetached() {
+        YearMonth oldMonth = currentMonth.minusMonths(30);
+        jdbcTemplate.queryForObject("select create_operation_partition(?)", Boolean.class, oldMonth.atDay(1));
+        insertOperation(2L, oldMonth);
+
+        applicationProperties.getOperationPartitions().setRetentionMonths(24);
+        operationPartitionService.maintainPartitions(currentMonth);
+
+        assertThat(partitions()).doesNotContain(partitionName(oldMonth)).contains(partitionName(currentMonth));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from operation", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + partitionName(oldMonth), Integer.class)).isOne();
+        assertThatThrownBy(() -> insertOperation(2L, currentMonth)).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void dateRangedQueriesArePruned() {
+        jdbcTemplate.queryForObject("select create_operation_partition(?)", Boolean.class, currentMonth.minusMonths(6).atDay(1));
+        Timestamp since = Timestamp.valueOf(currentMonth.atDay(1).atStartOfDay());
+
+        String plan = String.join(
+            "\n",
+            jdbcTemplate.queryForList(
+                "explain (costs off) select * from operation where date >= cast(? as timestamp) order by date desc limit 10",
+                String.class,
+                since
+            )
+        );
+
+        assertThat(plan).contains(partitionName(currentMonth)).doesNotContain(partitionName(currentMonth.minusMonths(6)));
+    }
+
+    @Test
+    void descriptionsOfMovedOperationsAreSearchable() {
+        YearMonth farMonth = currentMonth.plusMonths(18);
+        jdbcTemplate.update(
+            "insert into operation (id, date, description, amount) values (1, ?, 'Quokka zoo tickets', 1)",
+            Timestamp.valueOf(farMonth.atDay(15).atStartOfDay())
+        );
+
+        jdbcTemplate.queryForObject("select create_operation_partition(?)", Boolean.class, farMonth.atDay(1));
+
+        assertThat(
+            jdbcTemplate.queryForList(
+                "select id from " + partitionName(farMonth) + " where description_tsv @@ websearch_to_tsquery('simple', 'zoo quokka')",
+                Long.class
+            )
+        ).containsExactly(1L);
+    }
+
+    @Test
+    void idsAreUniqueAcrossPartitions() {
+        insertOperation(3L, currentMonth);
+
+        assertThatThrownBy(() -> insertOperation(3L, currentMonth.plusMonths(1))).isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> insertOperation(3L, currentMonth.plusMonths(12))).isInstanceOf(DuplicateKeyException.class);
+        insertOperation(4L, currentMonth.plusMonths(1));
+        assertThatThrownBy(() -> jdbcTemplate.update("update operation set id = 3 where id = 4")).isInstanceOf(
+            DuplicateKeyException.class
+        );
+    }
+
+    @Test
+    void manyOperationsAreInsertedInOneStatement() {
+        jdbcTemplate.update(
+            "insert into operation (id, date, amount) select i, localtimestamp - make_interval(days => i % 90), 1 " +
+            "from generate_series(1, 100000) i"
+        );
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from operation_id", Integer.class)).isEqualTo(100_000);
+    }
+
+    @Test
+    void labelsOnlyReferenceExistingOperations() {
+        insertOperation(5L, currentMonth);
+        jdbcTemplate.update("insert into label (id, label) values (5, 'groceries') on conflict do nothing");
+        jdbcTemplate.update("insert into rel_operation__label (operation_id, label_id) values (5, 5)");
+
+        assertThatThrownBy(() ->
+            jdbcTemplate.update("insert into rel_operation__label (operation_id, label_id) values (6, 5)")
+        ).isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> jdbcTemplate.update("delete from operation where id = 5")).isInstanceOf(
+            DataIntegrityViolationException.class
+        );
+        // moved to another partition, the operation keeps its labels
+        jdbcTemplate.update("update operation set date = date + interval '1 month' where id = 5");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from rel_operation__label", Integer.class)).isOne();
+    }
+
+    @Test
+    void labelledOperationsOfNewPartitionAreMovedOutOfDefault() {
+        YearMonth farMonth = currentMonth.plusMonths(24);
+        insertOperation(7L, farMonth);
+        jdbcTemplate.update("insert into label (id, label) values (5, 'groceries') on conflict do nothing");
+        jdbcTemplate.update("insert into rel_operation__label (operation_id, label_id) values (7, 5)");
+
+        applicationProperties.getOperationPartitions().setMonthsAhead(24);
+        operationPartitionService.maintainPartitions(currentMonth);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + partitionName(farMonth), Integer.class)).isOne();
+    }
+
+    private void insertOperation(long id, YearMonth month) {
+        LocalDateTime date = month.atDay(15).atStartOfDay();
+        jdbcTemplate.update("insert into operation (id, date, amount) values (?, ?, 1)", id, Timestamp.valueOf(date));
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+            "select child.relname from pg_inherits join pg_class child on child.oid = pg_inherits.inhrelid " +
+            "where pg_inherits.inhparent = 'operation'::regclass",
+            String.class
+        );
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "operation_%d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
@@ -5,13 +5,16 @@ import static org.mockito.Mockito.when;
 
 import io.github.jhipster.sample.IntegrationTest;
 import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.repository.AuthorityRepository;
 import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.security.AuthoritiesConstants;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +53,9 @@ class UserServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private UserService userService;
 
@@ -189,6 +195,25 @@ class UserServiceIT {
         assertThat(users).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void assertThatRemovedNotActivatedUsersAreEvictedFromCachesWithTheirAuthorities() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        user.setActivated(false);
+        user.setActivationKey(RandomStringUtils.insecure().next(20));
+        user.setAuthorities(Set.of(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow()));
+        User dbUser = userRepository.saveAndFlush(user);
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN)).isPresent();
+        assertThat(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(DEFAULT_EMAIL)).isPresent();
+
+        userService.removeNotActivatedUsers();
+
+        assertThat(userRepository.existsById(dbUser.getId())).isFalse();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(DEFAULT_LOGIN)).isNull();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get(DEFAULT_EMAIL)).isNull();
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
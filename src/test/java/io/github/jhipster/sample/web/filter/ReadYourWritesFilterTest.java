@@ -0,0 +1,79 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.config.PrimaryReads;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReadYourWritesFilterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(WINDOW, "secret".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void writeIsPinnedAndReturnsToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long before = System.currentTimeMillis();
+
+        boolean pinned = filter(new MockHttpServletRequest("POST", "/api/operations"), response);
+
+        assertThat(pinned).isTrue();
+        String token = response.getHeader(ReadYourWritesFilter.HEADER);
+        assertThat(Long.parseLong(token.substring(0, token.indexOf('.')))).isBetween(
+            before + WINDOW.toMillis(),
+            System.currentTimeMillis() + WINDOW.toMillis()
+        );
+        assertThat(PrimaryReads.isPinned()).isFalse();
+    }
+
+    @Test
+    void readWithValidTokenIsPinned() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/operations/1");
+        request.addHeader(ReadYourWritesFilter.HEADER, writeToken());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(filter(request, response)).isTrue();
+        assertThat(response.getHeader(ReadYourWritesFilter.HEADER)).isNull();
+    }
+
+    @Test
+    void readWithoutValidTokenIsNotPinned() throws Exception {
+        assertThat(filter(new MockHttpServletRequest("GET", "/api/operations/1"), new MockHttpServletResponse())).isFalse();
+        String token = writeToken();
+        String signature = token.substring(token.indexOf('.'));
+        String otherKeyToken = writeToken(new ReadYourWritesFilter(WINDOW, "other".getBytes(StandardCharsets.UTF_8)));
+        for (String invalid : new String[] {
+            Long.toString(System.currentTimeMillis() + 1000),
+            (System.currentTimeMillis() + 1000) + signature,
+            (System.currentTimeMillis() + WINDOW.toMillis() + 60_000) + signature,
+            otherKeyToken,
+            "primary",
+        }) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/operations/1");
+            request.addHeader(ReadYourWritesFilter.HEADER, invalid);
+            assertThat(filter(request, new MockHttpServletResponse())).as(invalid).isFalse();
+        }
+    }
+
+    private String writeToken() throws Exception {
+        return writeToken(filter);
+    }
+
+    private static String writeToken(ReadYourWritesFilter filter) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/operations"), response, (req, res) -> {});
+        return response.getHeader(ReadYourWritesFilter.HEADER);
+    }
+
+    private boolean filter(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> pinned.set(PrimaryReads.isPinned()));
+        return pinned.get();
+    }
+}
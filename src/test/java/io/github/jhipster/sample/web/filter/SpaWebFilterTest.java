@@ -0,0 +1,146 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SpaWebFilterTest {
+
+    private static final String INDEX_HTML =
+        "<!doctype html><html><body><jhi-main></jhi-main>" + "<script src=\"main.js\"></script>".repeat(20);
+
+    private final SpaWebFilter spaWebFilter = new SpaWebFilter(new ByteArrayResource(INDEX_HTML.getBytes(StandardCharsets.UTF_8)));
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/", "/account/settings", "/apps", "/1/2/3/4/5/6/7/8/9/10" })
+    void isClientRoute(String path) {
+        assertThat(SpaWebFilter.isClientRoute(path, 0)).isTrue();
+        assertThat(SpaWebFilter.isClientRoute("/context" + path, "/context".length())).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = { "", "/api", "/api/account", "/apiary", "/management/health", "/v3/api-docs", "/h2-console", "/foo.js", "/a/b.c" }
+    )
+    void isNotClientRoute(String path) {
+        assertThat(SpaWebFilter.isClientRoute(path, 0)).isFalse();
+        assertThat(SpaWebFilter.isClientRoute("/context" + path, "/context".length())).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "gzip", "GZIP", "x-gzip", "deflate, gzip;q=0.5", "*", "br;q=1.0, *;q=0.1", "gzip;q=0, gzip;q=1" })
+    void acceptsGzip(String acceptEncoding) {
+        assertThat(SpaWebFilter.acceptsGzip(acceptEncoding)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "identity", "deflate, br", "gzip;q=0", "gzip; q=0.000", "*;q=0", "*, gzip;q=0", "gzip;q=abc", "gzipped" })
+    void doesNotAcceptGzip(String acceptEncoding) {
+        assertThat(SpaWebFilter.acceptsGzip(acceptEncoding)).isFalse();
+    }
+
+    @Test
+    void servesIndexFromMemory() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/account/settings"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getForwardedUrl()).isNull();
+        assertThat(response.getContentType()).isEqualTo("text/html;charset=UTF-8");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(INDEX_HTML);
+    }
+
+    @Test
+    void servesGzippedIndexWhenAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+
+        MockHttpServletResponse response = filter(request);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentLength()).isLessThan(INDEX_HTML.length());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(INDEX_HTML);
+        }
+    }
+
+    @Test
+    void servesIndexWhenGzipIsRefused() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+
+        MockHttpServletResponse response = filter(request);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(INDEX_HTML);
+    }
+
+    @Test
+    void answersNotModifiedForCurrentEtag() throws Exception {
+        String etag = filter(new MockHttpServletRequest("GET", "/")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/metrics");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        MockHttpServletResponse response = filter(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesHeadersOnlyForHead() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("HEAD", "/"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLength()).isEqualTo(INDEX_HTML.length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void forwardsOtherMethodsToIndex() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("POST", "/account"));
+
+        assertThat(response.getForwardedUrl()).isEqualTo("/index.html");
+    }
+
+    @Test
+    void forwardsToIndexWhenNotBuilt() throws Exception {
+        SpaWebFilter notBuilt = new SpaWebFilter(new ClassPathResource("static/missing-index.html"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        notBuilt.doFilter(new MockHttpServletRequest("GET", "/"), response, new MockFilterChain());
+
+        assertThat(response.getForwardedUrl()).isEqualTo("/index.html");
+    }
+
+    @Test
+    void passesExcludedPathsDown() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+
+        spaWebFilter.doFilter(new MockHttpServletRequest("GET", "/api/account"), new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        spaWebFilter.doFilter(request, response, filterChain);
+        assertThat(filterChain.getRequest()).isNull();
+        return response;
+    }
+}
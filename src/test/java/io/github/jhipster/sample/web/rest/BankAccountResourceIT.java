@@ -192,7 +192,7 @@ class BankAccountResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(bankAccount.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(bankAccount.getId())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
             .andExpect(jsonPath("$.[*].balance").value(hasItem(sameNumber(DEFAULT_BALANCE))));
     }
@@ -214,6 +214,27 @@ class BankAccountResourceIT {
         verify(bankAccountRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @Transactional
+    void getAllBankAccountsWithFields() throws Exception {
+        // Initialize the database
+        insertedBankAccount = bankAccountRepository.saveAndFlush(bankAccount.user(userRepository.findOneByLogin("admin").orElseThrow()));
+
+        String bankAccountPath = "$.[?(@.id == " + bankAccount.getId() + ")]";
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(bankAccountPath + ".name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath(bankAccountPath + ".balance").isEmpty())
+            .andExpect(jsonPath(bankAccountPath + ".user").isEmpty());
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=balance&expand=user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(bankAccountPath + ".balance").value(hasItem(sameNumber(DEFAULT_BALANCE))))
+            .andExpect(jsonPath(bankAccountPath + ".user.login").value(hasItem("admin")));
+        restBankAccountMockMvc.perform(get(ENTITY_API_URL + "?fields=user")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getBankAccount() throws Exception {
@@ -225,11 +246,28 @@ class BankAccountResourceIT {
             .perform(get(ENTITY_API_URL_ID, bankAccount.getId()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(bankAccount.getId().intValue()))
+            .andExpect(jsonPath("$.id").value(bankAccount.getId()))
             .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
             .andExpect(jsonPath("$.balance").value(sameNumber(DEFAULT_BALANCE)));
     }
 
+    @Test
+    @Transactional
+    void getBankAccountWithoutUnexpandedUser() throws Exception {
+        // Initialize the database
+        insertedBankAccount = bankAccountRepository.saveAndFlush(bankAccount.user(userRepository.findOneByLogin("admin").orElseThrow()));
+
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=", bankAccount.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.user").doesNotExist());
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=user", bankAccount.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.login").value("admin"));
+    }
+
     @Test
     @Transactional
     void getNonExistingBankAccount() throws Exception {
@@ -0,0 +1,160 @@
+package io.github.jhipster.sample.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.repository.LabelRepository;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.service.BankAccountService;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link DashboardResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(DashboardResourceIT.OWNER_LOGIN)
+@Transactional
+class DashboardResourceIT {
+
+    static final String OWNER_LOGIN = "dashboard-owner";
+
+    private static final String ENTITY_API_URL = "/api/dashboard";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc restDashboardMockMvc;
+
+    private BankAccount checking;
+
+    private Label groceries;
+
+    @BeforeEach
+    void initTest() {
+        cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+
+        User owner = UserResourceIT.createEntity();
+        owner.setLogin(OWNER_LOGIN);
+        owner = userRepository.saveAndFlush(owner);
+        checking = bankAccountRepository.saveAndFlush(
+            new BankAccount().name("checking").balance(new BigDecimal("100.50")).user(owner)
+        );
+        bankAccountRepository.saveAndFlush(new BankAccount().name("savings").balance(new BigDecimal("900.00")).user(owner));
+        BankAccount foreign = bankAccountRepository.saveAndFlush(new BankAccount().name("foreign").balance(BigDecimal.TEN));
+
+        groceries = labelRepository.saveAndFlush(new Label().label("groceries"));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        operationRepository.saveAndFlush(
+            new Operation().date(now.minus(2, ChronoUnit.DAYS)).amount(new BigDecimal("12.00")).bankAccount(checking).addLabel(groceries)
+        );
+        operationRepository.saveAndFlush(
+            new Operation().date(now.minus(1, ChronoUnit.DAYS)).amount(new BigDecimal("8.00")).bankAccount(checking).addLabel(groceries)
+        );
+        operationRepository.saveAndFlush(new Operation().description("latest").date(now).amount(BigDecimal.ONE).bankAccount(checking));
+        operationRepository.saveAndFlush(new Operation().date(now).amount(BigDecimal.TEN).bankAccount(foreign).addLabel(groceries));
+    }
+
+    @Test
+    void getDashboard() throws Exception {
+        restDashboardMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.account.login").value(OWNER_LOGIN))
+            .andExpect(jsonPath("$.bankAccounts", hasSize(2)))
+            .andExpect(jsonPath("$.totalBalance").value(1000.5))
+            .andExpect(jsonPath("$.latestOperations", hasSize(3)))
+            .andExpect(jsonPath("$.latestOperations[0].description").value("latest"))
+            .andExpect(jsonPath("$.labelTotals", hasSize(1)))
+            .andExpect(jsonPath("$.labelTotals[0].label").value("groceries"))
+            .andExpect(jsonPath("$.labelTotals[0].total").value(20.0))
+            .andExpect(jsonPath("$.labelTotals[0].operationCount").value(2))
+            .andExpect(jsonPath("$.unavailableParts", hasSize(0)));
+    }
+
+    @Test
+    void getDashboardWithOldOperation() throws Exception {
+        operationRepository.saveAndFlush(
+            new Operation()
+                .description("old")
+                .date(Instant.now().minus(200, ChronoUnit.DAYS))
+                .amount(new BigDecimal("5.00"))
+                .bankAccount(checking)
+                .addLabel(groceries)
+        );
+
+        restDashboardMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.latestOperations", hasSize(3)))
+            .andExpect(jsonPath("$.latestOperations[*].description", not(hasItem("old"))))
+            .andExpect(jsonPath("$.labelTotals[0].total").value(25.0))
+            .andExpect(jsonPath("$.labelTotals[0].operationCount").value(3));
+    }
+
+    @Test
+    void getDashboardWithOperationPastTheLabelTotalsPeriod() throws Exception {
+        operationRepository.saveAndFlush(
+            new Operation()
+                .description("last year")
+                .date(Instant.now().minus(400, ChronoUnit.DAYS))
+                .amount(new BigDecimal("5.00"))
+                .bankAccount(checking)
+                .addLabel(groceries)
+        );
+
+        restDashboardMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.labelTotals[0].total").value(20.0))
+            .andExpect(jsonPath("$.labelTotals[0].operationCount").value(2));
+    }
+
+    @Test
+    @WithMockUser("dashboard-nobody")
+    void getDashboardOfUserWithoutAccounts() throws Exception {
+        restDashboardMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bankAccounts", hasSize(0)))
+            .andExpect(jsonPath("$.totalBalance").value(0))
+            .andExpect(jsonPath("$.latestOperations", hasSize(0)))
+            .andExpect(jsonPath("$.labelTotals", hasSize(0)));
+    }
+}
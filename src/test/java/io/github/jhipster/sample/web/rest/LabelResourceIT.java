@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.sample.IntegrationTest;
 import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
 import io.github.jhipster.sample.repository.LabelRepository;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
@@ -156,7 +157,7 @@ class LabelResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(label.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(label.getId())))
             .andExpect(jsonPath("$.[*].label").value(hasItem(DEFAULT_LABEL)));
     }
 
@@ -171,10 +172,39 @@ class LabelResourceIT {
             .perform(get(ENTITY_API_URL_ID, label.getId()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(label.getId().intValue()))
+            .andExpect(jsonPath("$.id").value(label.getId()))
             .andExpect(jsonPath("$.label").value(DEFAULT_LABEL));
     }
 
+    @Test
+    @Transactional
+    void updateLabelEvictsCachedOperations() throws Exception {
+        // Initialize the database
+        insertedLabel = labelRepository.saveAndFlush(label);
+        Operation operation = OperationResourceIT.createEntity().addLabel(label);
+        em.persist(operation);
+
+        restLabelMockMvc
+            .perform(get("/api/operations/{id}", operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.labels.[0].label").value(DEFAULT_LABEL));
+
+        Label partialUpdatedLabel = new Label().id(label.getId()).label(UPDATED_LABEL);
+        restLabelMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, label.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedLabel))
+            )
+            .andExpect(status().isOk());
+
+        restLabelMockMvc
+            .perform(get("/api/operations/{id}", operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.labels.[0].label").value(UPDATED_LABEL));
+        em.remove(operation);
+    }
+
     @Test
     @Transactional
     void getNonExistingLabel() throws Exception {
@@ -0,0 +1,172 @@
+package io.github.jhipster.sample.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.service.BankAccountService;
+import io.github.jhipster.sample.service.dto.BankAccountDTO;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link MyBankAccountResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(MyBankAccountResourceIT.OWNER_LOGIN)
+class MyBankAccountResourceIT {
+
+    static final String OWNER_LOGIN = "my-bank-accounts-owner";
+
+    private static final String ENTITY_API_URL = "/api/my/bank-accounts";
+
+    private static final String OWNED_NAME = "AAAAAAAAAA";
+    private static final String UPDATED_NAME = "BBBBBBBBBB";
+    private static final String OTHER_NAME = "CCCCCCCCCC";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restBankAccountMockMvc;
+
+    private User owner;
+
+    private BankAccount ownedBankAccount;
+
+    private BankAccount otherBankAccount;
+
+    @BeforeEach
+    void initTest() {
+        owner = UserResourceIT.createEntity();
+        owner.setLogin(OWNER_LOGIN);
+        owner = userRepository.saveAndFlush(owner);
+        ownedBankAccount = bankAccountRepository.saveAndFlush(
+            new BankAccount().name(OWNED_NAME).balance(BigDecimal.ONE).user(owner)
+        );
+        otherBankAccount = bankAccountRepository.saveAndFlush(new BankAccount().name(OTHER_NAME).balance(BigDecimal.TEN));
+        cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        bankAccountRepository.deleteById(ownedBankAccount.getId());
+        bankAccountRepository.deleteById(otherBankAccount.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void getMyBankAccountsOnlyReturnsOwnedAccounts() throws Exception {
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(ownedBankAccount.getId())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherBankAccount.getId()))))
+            .andExpect(jsonPath("$.[*].user.login").value(hasItem(OWNER_LOGIN)));
+
+        // the accounts are cached detached from any persistence context
+        assertThat(cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).get(OWNER_LOGIN, List.class))
+            .singleElement()
+            .isInstanceOf(BankAccountDTO.class);
+    }
+
+    @Test
+    void updateBankAccountEvictsMyBankAccountsCache() throws Exception {
+        restBankAccountMockMvc.perform(get(ENTITY_API_URL)).andExpect(jsonPath("$.[*].name").value(hasItem(OWNED_NAME)));
+
+        ownedBankAccount.setName(UPDATED_NAME);
+        restBankAccountMockMvc
+            .perform(
+                put("/api/bank-accounts/{id}", ownedBankAccount.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(ownedBankAccount))
+            )
+            .andExpect(status().isOk());
+
+        assertThat(cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).get(OWNER_LOGIN)).isNull();
+        restBankAccountMockMvc.perform(get(ENTITY_API_URL)).andExpect(jsonPath("$.[*].name").value(hasItem(UPDATED_NAME)));
+    }
+
+    @Test
+    void updateBankAccountEvictsMyBankAccountsCacheAfterCommit() throws Exception {
+        ownedBankAccount.setName(UPDATED_NAME);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                restBankAccountMockMvc
+                    .perform(
+                        put("/api/bank-accounts/{id}", ownedBankAccount.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsBytes(ownedBankAccount))
+                    )
+                    .andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            // stands for a concurrent read, caching the accounts before the update is committed
+            bankAccountService.findAllByUserLogin(OWNER_LOGIN);
+            assertThat(cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).get(OWNER_LOGIN)).isNotNull();
+        });
+
+        assertThat(cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).get(OWNER_LOGIN)).isNull();
+    }
+
+    @Test
+    void createBankAccountEvictsMyBankAccountsCache() throws Exception {
+        restBankAccountMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk());
+
+        BankAccount newBankAccount = new BankAccount().name(UPDATED_NAME).balance(BigDecimal.ONE).user(owner);
+        BankAccount created = om.readValue(
+            restBankAccountMockMvc
+                .perform(post("/api/bank-accounts").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(newBankAccount)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            BankAccount.class
+        );
+
+        restBankAccountMockMvc.perform(get(ENTITY_API_URL)).andExpect(jsonPath("$.[*].id").value(hasItem(created.getId())));
+
+        restBankAccountMockMvc.perform(delete("/api/bank-accounts/{id}", created.getId())).andExpect(status().isNoContent());
+
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(created.getId()))));
+    }
+}
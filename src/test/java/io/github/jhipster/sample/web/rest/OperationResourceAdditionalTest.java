@@ -113,7 +113,7 @@ class OperationResourceAdditionalTest {
             .perform(get(ENTITY_API_URL + "?page=0&size=10&sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId())))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT.intValue())));
     }
@@ -129,7 +129,7 @@ class OperationResourceAdditionalTest {
             .perform(get(ENTITY_API_URL + "?eagerload=true&page=0&size=10"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId().intValue())));
+            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId())));
     }
 
     @Test
@@ -143,7 +143,7 @@ class OperationResourceAdditionalTest {
             .perform(get(ENTITY_API_URL + "?eagerload=false&page=0&size=10"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId().intValue())));
+            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId())));
     }
 
     @Test
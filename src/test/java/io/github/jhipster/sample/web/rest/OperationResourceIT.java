@@ -4,20 +4,29 @@ import static io.github.jhipster.sample.domain.OperationAsserts.*;
 import static io.github.jhipster.sample.web.rest.TestUtil.createUpdateProxyForBean;
 import static io.github.jhipster.sample.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Label;
 import io.github.jhipster.sample.domain.Operation;
 import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.service.JsonResponseCache;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -28,8 +37,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -71,6 +82,9 @@ class OperationResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restOperationMockMvc;
 
@@ -193,7 +207,7 @@ class OperationResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(operation.getId())))
             .andExpect(jsonPath("$.[*].date").value(hasItem(DEFAULT_DATE.toString())))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].amount").value(hasItem(sameNumber(DEFAULT_AMOUNT))));
@@ -227,12 +241,335 @@ class OperationResourceIT {
             .perform(get(ENTITY_API_URL_ID, operation.getId()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(operation.getId().intValue()))
+            .andExpect(jsonPath("$.id").value(operation.getId()))
             .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()))
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
             .andExpect(jsonPath("$.amount").value(sameNumber(DEFAULT_AMOUNT)));
     }
 
+    @Test
+    @Transactional
+    void getAllOperationsAsCbor() throws Exception {
+        // Initialize the database
+        insertedOperation = operationRepository.saveAndFlush(operation);
+
+        byte[] content = restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        JsonNode returnedOperation = new CBORMapper().readTree(content).get(0);
+        assertThat(returnedOperation.get("id").asLong()).isEqualTo(operation.getId());
+        assertThat(returnedOperation.get("date").asLong()).isEqualTo(DEFAULT_DATE.toEpochMilli());
+        assertThat(returnedOperation.get("description").asText()).isEqualTo(DEFAULT_DESCRIPTION);
+        assertThat(returnedOperation.get("amount").decimalValue()).isEqualByComparingTo(DEFAULT_AMOUNT);
+    }
+
+    @Test
+    @Transactional
+    void createOperationFromCborIsNotSupported() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        byte[] content = new CBORMapper().writeValueAsBytes(
+            Map.of("date", UPDATED_DATE.toEpochMilli(), "description", DEFAULT_DESCRIPTION, "amount", DEFAULT_AMOUNT)
+        );
+
+        // CBOR is limited to the collections
+        restOperationMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_CBOR).content(content))
+            .andExpect(status().isUnsupportedMediaType());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsWithFields() throws Exception {
+        // Initialize the database
+        insertedOperation = operationRepository.saveAndFlush(operation.bankAccount(bankAccount()));
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=amount"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].id").value(operation.getId()))
+            .andExpect(jsonPath("$.[0].amount").value(sameNumber(DEFAULT_AMOUNT)))
+            .andExpect(jsonPath("$.[0].description").doesNotExist())
+            .andExpect(jsonPath("$.[0].bankAccount").doesNotExist())
+            .andExpect(jsonPath("$.[0].labels").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsWithFieldsByCriteria() throws Exception {
+        // Initialize the database
+        insertedOperation = operationRepository.saveAndFlush(operation.bankAccount(bankAccount()));
+        Long bankAccountId = operation.getBankAccount().getId();
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=amount&bankAccountId.equals=" + bankAccountId))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(operation.getId()));
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=amount&bankAccountId.equals=" + (bankAccountId + 1)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsWithFieldsAndExpandedRelationships() throws Exception {
+        // Initialize the database
+        Label label = LabelResourceIT.createEntity();
+        em.persist(label);
+        insertedOperation = operationRepository.saveAndFlush(operation.bankAccount(bankAccount()).addLabel(label));
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=description&expand=bankAccount,labels"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(operation.getId()))
+            .andExpect(jsonPath("$.[0].description").value(DEFAULT_DESCRIPTION))
+            .andExpect(jsonPath("$.[0].amount").doesNotExist())
+            .andExpect(jsonPath("$.[0].bankAccount.id").value(operation.getBankAccount().getId()))
+            .andExpect(jsonPath("$.[0].bankAccount.name").value(operation.getBankAccount().getName()))
+            .andExpect(jsonPath("$.[0].labels.[0].id").value(label.getId()))
+            .andExpect(jsonPath("$.[0].labels.[0].label").value(label.getLabel()));
+    }
+
+    @Test
+    @Transactional
+    void getOperationsWithoutUnexpandedRelationships() throws Exception {
+        // Initialize the database
+        Label label = LabelResourceIT.createEntity();
+        em.persist(label);
+        insertedOperation = operationRepository.saveAndFlush(operation.bankAccount(bankAccount()).addLabel(label));
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&expand=labels"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(operation.getId()))
+            .andExpect(jsonPath("$.[0].description").value(DEFAULT_DESCRIPTION))
+            .andExpect(jsonPath("$.[0].labels.[0].id").value(label.getId()))
+            .andExpect(jsonPath("$.[0].bankAccount").doesNotExist());
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=bankAccount", operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bankAccount.name").value(operation.getBankAccount().getName()))
+            .andExpect(jsonPath("$.labels").doesNotExist());
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=", operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.amount").value(sameNumber(DEFAULT_AMOUNT)))
+            .andExpect(jsonPath("$.bankAccount").doesNotExist())
+            .andExpect(jsonPath("$.labels").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsWithUnknownFieldOrRelationship() throws Exception {
+        restOperationMockMvc.perform(get(ENTITY_API_URL + "?fields=amount,secret")).andExpect(status().isBadRequest());
+        restOperationMockMvc.perform(get(ENTITY_API_URL + "?fields=amount&expand=user")).andExpect(status().isBadRequest());
+        restOperationMockMvc.perform(get(ENTITY_API_URL + "?expand=user")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void searchOperations() throws Exception {
+        // Initialize the database
+        Label label = LabelResourceIT.createEntity();
+        em.persist(label);
+        Operation found = operationRepository.saveAndFlush(
+            createEntity().description("Quokka zoo tickets").bankAccount(bankAccount()).addLabel(label)
+        );
+        Operation other = operationRepository.saveAndFlush(createEntity().description("Zoo parking"));
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "/search?q=quokka zoo"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(found.getId())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId()))))
+            .andExpect(jsonPath("$.[0].bankAccount.id").value(found.getBankAccount().getId()))
+            .andExpect(jsonPath("$.[0].labels.[0].id").value(label.getId()));
+    }
+
+    @Test
+    @Transactional
+    void searchOperationsPageAfterPage() throws Exception {
+        // Initialize the database
+        for (int i = 0; i < 3; i++) {
+            operationRepository.saveAndFlush(createEntity().description("Quokka food " + i));
+        }
+
+        String link = restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "/search?q=quokka&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        assertThat(link).endsWith("; rel=\"next\"");
+
+        restOperationMockMvc
+            .perform(get(URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')))))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @Transactional
+    void searchOperationsWithoutWordsOrWithInvalidPosition() throws Exception {
+        restOperationMockMvc.perform(get(ENTITY_API_URL + "/search?q= ")).andExpect(status().isBadRequest());
+        restOperationMockMvc.perform(get(ENTITY_API_URL + "/search?q=quokka&after=last")).andExpect(status().isBadRequest());
+        // the operations are all ranked 0 without full-text search
+        restOperationMockMvc.perform(get(ENTITY_API_URL + "/search?q=quokka&after=0.5:1")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsByBankAccountIdAndDateFiltering() throws Exception {
+        // Initialize the database
+        BankAccount bankAccount = bankAccount();
+        Operation operation = operationRepository.saveAndFlush(createEntity().date(UPDATED_DATE).bankAccount(bankAccount));
+        Operation older = operationRepository.saveAndFlush(createEntity().bankAccount(bankAccount));
+        Operation otherAccount = operationRepository.saveAndFlush(createEntity().date(UPDATED_DATE).bankAccount(bankAccount()));
+
+        String filter = "bankAccountId.equals=" + bankAccount.getId() + "&date.greaterThan=" + DEFAULT_DATE;
+        defaultOperationFiltering(filter, operation);
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(older.getId()))))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherAccount.getId()))))
+            .andExpect(jsonPath("$.[0].bankAccount.id").value(bankAccount.getId()));
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsByAmountFiltering() throws Exception {
+        // Initialize the database
+        BankAccount bankAccount = bankAccount();
+        Operation operation = operationRepository.saveAndFlush(createEntity().amount(UPDATED_AMOUNT).bankAccount(bankAccount));
+        Operation smaller = operationRepository.saveAndFlush(createEntity().bankAccount(bankAccount));
+
+        String filter = "bankAccountId.equals=" + bankAccount.getId() + "&amount.greaterThan=" + DEFAULT_AMOUNT;
+        defaultOperationFiltering(filter, operation);
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(smaller.getId()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsByLabelIdFiltering() throws Exception {
+        // Initialize the database
+        Label label = LabelResourceIT.createEntity();
+        em.persist(label);
+        Label otherLabel = LabelResourceIT.createEntity();
+        em.persist(otherLabel);
+        Operation operation = operationRepository.saveAndFlush(createEntity().addLabel(label).addLabel(otherLabel));
+        Operation otherOperation = operationRepository.saveAndFlush(createEntity().addLabel(otherLabel));
+        Operation unlabelled = operationRepository.saveAndFlush(createEntity());
+
+        // an operation carrying both labels is returned once
+        defaultOperationFiltering("labelId.in=" + label.getId() + "," + otherLabel.getId(), operation, otherOperation);
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&labelId.equals=" + label.getId()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherOperation.getId()))))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(unlabelled.getId()))));
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&labelId.specified=false&id.greaterThanOrEqual=" + operation.getId()))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(unlabelled.getId())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(operation.getId()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllOperationsWithoutCount() throws Exception {
+        // Initialize the database
+        BankAccount bankAccount = bankAccount();
+        for (int i = 0; i < 3; i++) {
+            operationRepository.saveAndFlush(createEntity().bankAccount(bankAccount));
+        }
+
+        String link = restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?count=false&size=2&sort=id,desc&bankAccountId.equals=" + bankAccount.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        assertThat(link).contains("page=1").endsWith("; rel=\"next\"");
+
+        restOperationMockMvc
+            .perform(get(URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')))))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    private void defaultOperationFiltering(String filter, Operation... expectedOperations) throws Exception {
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", String.valueOf(expectedOperations.length)))
+            .andExpect(jsonPath("$.length()").value(expectedOperations.length));
+        for (Operation expectedOperation : expectedOperations) {
+            restOperationMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(expectedOperation.getId())));
+        }
+
+        // Check, that the count call also returns the expected count
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL + "/count?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string(String.valueOf(expectedOperations.length)));
+    }
+
+    @Test
+    @Transactional
+    void getOperationFromResponseCache() throws Exception {
+        // Initialize the database
+        insertedOperation = operationRepository.saveAndFlush(operation);
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL_ID, operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
+        assertThat(cacheManager.getCache(JsonResponseCache.OPERATIONS_CACHE).get(operation.getId())).isNotNull();
+
+        // Single operations are not encoded in CBOR
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL_ID, operation.getId()).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isNotAcceptable());
+
+        // Updates evict the cached response
+        Operation partialUpdatedOperation = new Operation().id(operation.getId()).description(UPDATED_DESCRIPTION);
+        restOperationMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, operation.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedOperation))
+            )
+            .andExpect(status().isOk());
+        assertThat(cacheManager.getCache(JsonResponseCache.OPERATIONS_CACHE).get(operation.getId())).isNull();
+
+        restOperationMockMvc
+            .perform(get(ENTITY_API_URL_ID, operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.description").value(UPDATED_DESCRIPTION));
+    }
+
     @Test
     @Transactional
     void getNonExistingOperation() throws Exception {
@@ -447,6 +784,12 @@ class OperationResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    private BankAccount bankAccount() {
+        BankAccount bankAccount = BankAccountResourceIT.createEntity();
+        em.persist(bankAccount);
+        return bankAccount;
+    }
+
     protected long getRepositoryCount() {
         return operationRepository.count();
     }
@@ -0,0 +1,101 @@
+package io.github.jhipster.sample.web.rest;
+
+import io.github.jhipster.sample.config.StatementCountingDataSource;
+import io.github.jhipster.sample.config.StatementCountingDataSource.StatementCount;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Fails the tests whose MockMvc calls run more SQL statements than the {@link QueryBudgets} of their endpoint, to catch
+ * the N+1 queries, such as lazy relationships loaded one by one while the response is serialized.
+ * <p>
+ * The statements are counted by the {@link Filter} registered in the test context, for the calls made by the test thread.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ThreadLocal<List<Call>> CALLS = new ThreadLocal<>();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CALLS.set(new ArrayList<>());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<Call> calls = CALLS.get();
+        CALLS.remove();
+        List<String> overruns = new ArrayList<>();
+        for (Call call : calls) {
+            QueryBudgets.Budget budget = QueryBudgets.of(call.endpoint());
+            if (!budget.allows(call.count())) {
+                overruns.add(
+                    call.endpoint() + " ran " + call.count() + ", over its budget of " + budget + ":\n  " +
+                    call.count().getStatements().stream().map(Object::toString).collect(Collectors.joining("\n  "))
+                );
+            }
+        }
+        if (!overruns.isEmpty()) {
+            throw new AssertionError(String.join("\n", overruns));
+        }
+    }
+
+    private record Call(String endpoint, StatementCount count) {}
+
+    /**
+     * Counts the statements of each request handled for a test run with the {@link QueryBudgetExtension}.
+     * <p>
+     * The changes made in the transaction of a {@code @Transactional} test are flushed before the request, and the changes
+     * made by the request are flushed after it, as they would be when its own transaction commits.
+     */
+    public static class Filter extends OncePerRequestFilter {
+
+        private final EntityManagerFactory entityManagerFactory;
+
+        public Filter(EntityManagerFactory entityManagerFactory) {
+            this.entityManagerFactory = entityManagerFactory;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+            List<Call> calls = CALLS.get();
+            if (calls == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            flushTestTransaction();
+            StatementCountingDataSource.start();
+            try {
+                filterChain.doFilter(request, response);
+                flushTestTransaction();
+            } finally {
+                StatementCount count = StatementCountingDataSource.stop();
+                // the requests rejected before reaching a handler, such as unauthorized ones, have no endpoint to check
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    calls.add(new Call(request.getMethod() + " " + pattern, count));
+                }
+            }
+        }
+
+        private void flushTestTransaction() {
+            if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.jhipster.sample.web.rest;
+
+import io.github.jhipster.sample.config.StatementCountingDataSource.StatementCount;
+import java.util.Map;
+
+/**
+ * The most SQL statements each REST endpoint may run, checked by the {@link QueryBudgetExtension}.
+ * <p>
+ * The budgets do not depend on the number of entities returned: an endpoint going over its budget usually loads a
+ * relationship once per entity. The endpoints are named by their HTTP method and their mapping pattern, and the ones
+ * without a budget may not run any statement. The entities deleted by id are read first, unless already loaded.
+ */
+final class QueryBudgets {
+
+    private static final Budget NONE = new Budget(0, 0, 0, 0);
+
+    private static final Map<String, Budget> BUDGETS = Map.ofEntries(
+        // AccountResource
+        budget("POST /api/register", 3, 3, 0, 2),
+        budget("GET /api/activate", 1, 0, 1, 0),
+        budget("GET /api/account", 1, 0, 0, 0),
+        budget("POST /api/account", 3, 0, 1, 0),
+        budget("POST /api/account/change-password", 1, 0, 1, 0),
+        budget("POST /api/account/reset-password/init", 2, 1, 1, 0),
+        budget("POST /api/account/reset-password/finish", 1, 0, 1, 0),
+        // AuthenticateController
+        budget("POST /api/authenticate", 1, 0, 0, 0),
+        budget("GET /api/authenticate", 0, 0, 0, 0),
+        // AuthorityResource
+        budget("POST /api/authorities", 1, 1, 0, 0),
+        budget("GET /api/authorities", 1, 0, 0, 0),
+        budget("GET /api/authorities/{id}", 1, 0, 0, 0),
+        budget("DELETE /api/authorities/{id}", 1, 0, 0, 1),
+        // BankAccountResource, the login of the owner is read before and after an update, to evict the cache of its accounts
+        budget("POST /api/bank-accounts", 1, 1, 0, 0),
+        budget("PUT /api/bank-accounts/{id}", 4, 0, 1, 0),
+        budget("PATCH /api/bank-accounts/{id}", 2, 0, 1, 0),
+        budget("GET /api/bank-accounts", 1, 0, 0, 0),
+        budget("GET /api/bank-accounts/{id}", 1, 0, 0, 0),
+        budget("DELETE /api/bank-accounts/{id}", 2, 0, 0, 1),
+        // DashboardResource, a statement for each part, and one for the labels of the latest operations
+        budget("GET /api/dashboard", 5, 0, 0, 0),
+        // LabelResource
+        budget("POST /api/labels", 0, 1, 0, 0),
+        budget("PUT /api/labels/{id}", 2, 0, 1, 0),
+        budget("PATCH /api/labels/{id}", 1, 0, 1, 0),
+        budget("GET /api/labels", 1, 0, 0, 0),
+        budget("GET /api/labels/{id}", 1, 0, 0, 0),
+        budget("DELETE /api/labels/{id}", 1, 0, 0, 1),
+        // MyBankAccountResource
+        budget("GET /api/my/bank-accounts", 1, 0, 0, 0),
+        // OperationResource, the labels of the operations are fetched by a second statement, after the ids found by a search,
+        // and the operations matching criteria are counted by a third one
+        budget("POST /api/operations", 0, 1, 0, 0),
+        budget("PUT /api/operations/{id}", 3, 0, 1, 0),
+        budget("PATCH /api/operations/{id}", 1, 0, 1, 0),
+        budget("GET /api/operations", 3, 0, 0, 0),
+        budget("GET /api/operations/count", 1, 0, 0, 0),
+        budget("GET /api/operations/search", 3, 0, 0, 0),
+        budget("GET /api/operations/{id}", 2, 0, 0, 0),
+        budget("DELETE /api/operations/{id}", 1, 0, 0, 1),
+        // PublicUserResource
+        budget("GET /api/users", 1, 0, 0, 0),
+        // UserResource, the authorities of a page of users are fetched by a second statement
+        budget("POST /api/admin/users", 3, 3, 0, 0),
+        budget("PUT /api/admin/users", 3, 1, 1, 0),
+        budget("PUT /api/admin/users/{login}", 3, 1, 1, 0),
+        budget("GET /api/admin/users", 2, 0, 0, 0),
+        budget("GET /api/admin/users/{login}", 1, 0, 0, 0),
+        budget("DELETE /api/admin/users/{login}", 1, 0, 0, 1)
+    );
+
+    private QueryBudgets() {}
+
+    static Budget of(String endpoint) {
+        return BUDGETS.getOrDefault(endpoint, NONE);
+    }
+
+    private static Map.Entry<String, Budget> budget(String endpoint, int selects, int inserts, int updates, int deletes) {
+        return Map.entry(endpoint, new Budget(selects, inserts, updates, deletes));
+    }
+
+    record Budget(int selects, int inserts, int updates, int deletes) {
+        boolean allows(StatementCount count) {
+            return (
+                count.getSelects() <= selects &&
+                count.getInserts() <= inserts &&
+                count.getUpdates() <= updates &&
+                count.getDeletes() <= deletes
+            );
+        }
+
+        @Override
+        public String toString() {
+            return selects + " select, " + inserts + " insert, " + updates + " update, " + deletes + " delete";
+        }
+    }
+}
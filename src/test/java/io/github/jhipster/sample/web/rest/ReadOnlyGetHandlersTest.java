@@ -0,0 +1,49 @@
+package io.github.jhipster.sample.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The GET handlers of the transactional controllers must run read-only transactions, so that Hibernate neither keeps
+ * snapshots of the entities they load nor flushes them.
+ */
+class ReadOnlyGetHandlersTest {
+
+    @Test
+    void getHandlersOfTransactionalControllersAreReadOnly() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        List<String> checked = new ArrayList<>();
+        List<String> readWrite = new ArrayList<>();
+        for (BeanDefinition controller : scanner.findCandidateComponents(ReadOnlyGetHandlersTest.class.getPackageName())) {
+            Class<?> type = Class.forName(controller.getBeanClassName());
+            if (!AnnotatedElementUtils.hasAnnotation(type, Transactional.class)) {
+                continue;
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (!AnnotatedElementUtils.hasAnnotation(method, GetMapping.class)) {
+                    continue;
+                }
+                checked.add(type.getSimpleName() + "." + method.getName());
+                Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+                if (transactional == null || !transactional.readOnly()) {
+                    readWrite.add(type.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        assertThat(checked).contains("OperationResource.getOperation", "BankAccountResource.getAllBankAccounts", "LabelResource.getLabel");
+        assertThat(readWrite).isEmpty();
+    }
+}
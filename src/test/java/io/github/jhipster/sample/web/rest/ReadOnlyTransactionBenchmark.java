@@ -0,0 +1,119 @@
+package io.github.jhipster.sample.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.JhipsterSampleApplicationApp;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.repository.LabelRepository;
+import io.github.jhipster.sample.repository.OperationRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JMH benchmark comparing a {@code GET /api/operations?eagerload=true} page loaded in a read-write transaction, as before
+ * the GET handlers were marked read-only, and in a read-only one.
+ * <p>
+ * The application runs with the {@code testdev} profile, on an in-memory H2 database. The heap allocated per request is
+ * reported by the GC profiler as {@code gc.alloc.rate.norm}. Run it with the {@link #main(String[])} method, from the IDE
+ * or after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean readOnly;
+
+    @Param({ "20" })
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private OperationRepository operationRepository;
+
+    private ObjectMapper objectMapper;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(JhipsterSampleApplicationApp.class)
+            .profiles("test", "testdev")
+            .properties(
+                "server.port=0",
+                "spring.docker.compose.enabled=false",
+                "application.liquibase.async-start=false",
+                "logging.level.ROOT=WARN"
+            )
+            .run();
+        operationRepository = context.getBean(OperationRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> insertOperations());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+    }
+
+    private void insertOperations() {
+        BankAccount bankAccount = context
+            .getBean(BankAccountRepository.class)
+            .save(new BankAccount().name("Current account").balance(new BigDecimal("12345.67")));
+        List<Label> labels = new ArrayList<>();
+        for (String label : List.of("Groceries", "Rent", "Salary", "Transport")) {
+            labels.add(context.getBean(LabelRepository.class).save(new Label().label(label)));
+        }
+        Instant date = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < pageSize; i++) {
+            operationRepository.save(
+                new Operation()
+                    .date(date.minus(i, ChronoUnit.HOURS))
+                    .description("Card payment " + i)
+                    .amount(BigDecimal.valueOf(-1234 - i, 2))
+                    .bankAccount(bankAccount)
+                    .addLabel(labels.get(i % labels.size()))
+                    .addLabel(labels.get((i + 1) % labels.size()))
+            );
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getAllOperations() throws JsonProcessingException {
+        List<Operation> operations = transactionTemplate.execute(status ->
+            operationRepository.findAllExpanded(OperationRepository.RELATIONS, PageRequest.of(0, pageSize)).getContent()
+        );
+        return objectMapper.writeValueAsBytes(operations);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder().include(ReadOnlyTransactionBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()
+        ).run();
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.jhipster.sample.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.BankAccount;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.repository.BankAccountRepository;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.service.BankAccountService;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * The caches must not keep the rows of a read replica lagging behind the primary. The replica is an H2 database holding a copy
+ * of the primary taken before each test, which never receives the writes of the test.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(ReadReplicaCachesIT.OWNER_LOGIN)
+@TestPropertySource(properties = "application.replicas.urls[0]=" + ReadReplicaCachesIT.REPLICA_URL)
+class ReadReplicaCachesIT {
+
+    static final String OWNER_LOGIN = "lagging-replica-owner";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:laggingreplica;DB_CLOSE_DELAY=-1";
+
+    private static final String DEFAULT_NAME = "AAAAAAAAAA";
+    private static final String UPDATED_NAME = "BBBBBBBBBB";
+
+    private static final String UPDATED_DESCRIPTION = "updated on the primary";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private User owner;
+
+    private BankAccount bankAccount;
+
+    private Operation operation;
+
+    @BeforeEach
+    void initTest() throws SQLException {
+        owner = UserResourceIT.createEntity();
+        owner.setLogin(OWNER_LOGIN);
+        owner = userRepository.saveAndFlush(owner);
+        bankAccount = bankAccountRepository.saveAndFlush(new BankAccount().name(DEFAULT_NAME).balance(BigDecimal.ONE).user(owner));
+        operation = operationRepository.saveAndFlush(OperationResourceIT.createEntity().bankAccount(bankAccount));
+        cacheManager.getCache(BankAccountService.BANK_ACCOUNTS_BY_USER_CACHE).clear();
+        copyPrimaryToReplica();
+    }
+
+    @AfterEach
+    void cleanup() {
+        operationRepository.deleteById(operation.getId());
+        bankAccountRepository.deleteById(bankAccount.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void responseCacheIsLoadedFromPrimary() throws Exception {
+        operation.setDescription(UPDATED_DESCRIPTION);
+        restMockMvc
+            .perform(
+                put("/api/operations/{id}", operation.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(operation))
+            )
+            .andExpect(status().isOk());
+
+        restMockMvc
+            .perform(get("/api/operations/{id}", operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value(UPDATED_DESCRIPTION));
+        // the reads which are not cached still go to the lagging replica
+        restMockMvc
+            .perform(get("/api/operations/{id}", operation.getId()).param("expand", "bankAccount"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value(OperationResourceIT.createEntity().getDescription()));
+        restMockMvc
+            .perform(get("/api/operations/{id}", operation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value(UPDATED_DESCRIPTION));
+    }
+
+    @Test
+    void cacheableMethodIsLoadedFromPrimary() throws Exception {
+        bankAccount.setName(UPDATED_NAME);
+        restMockMvc
+            .perform(
+                put("/api/bank-accounts/{id}", bankAccount.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(bankAccount))
+            )
+            .andExpect(status().isOk());
+
+        restMockMvc
+            .perform(get("/api/my/bank-accounts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem(UPDATED_NAME)));
+        restMockMvc
+            .perform(get("/api/bank-accounts/{id}", bankAccount.getId()).param("expand", "user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+        restMockMvc
+            .perform(get("/api/my/bank-accounts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem(UPDATED_NAME)));
+    }
+
+    private void copyPrimaryToReplica() throws SQLException {
+        List<String> script = jdbcTemplate.queryForList("SCRIPT", String.class);
+        try (
+            Connection replica = DriverManager.getConnection(
+                REPLICA_URL,
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+            );
+            Statement statement = replica.createStatement()
+        ) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
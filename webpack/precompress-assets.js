@@ -0,0 +1,47 @@
+const zlib = require('zlib');
+const webpack = require('webpack');
+
+const COMPRESSIBLE_ASSETS = /\.(js|css|html|svg|json|txt)$/;
+const MIN_SIZE = 1024;
+const MAX_RATIO = 0.8;
+
+const BROTLI_OPTIONS = { params: { [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY } };
+const GZIP_OPTIONS = { level: zlib.constants.Z_BEST_COMPRESSION };
+
+const ENCODINGS = [
+  ['.br', buffer => zlib.brotliCompressSync(buffer, BROTLI_OPTIONS)],
+  ['.gz', buffer => zlib.gzipSync(buffer, GZIP_OPTIONS)],
+];
+
+/**
+ * Writes a Brotli and a gzip variant next to each compressible asset, served by the PrecompressedStaticAssetsHandler
+ * according to the Accept-Encoding of the request, so that the server does not compress the bundles on each request.
+ */
+class PrecompressAssetsPlugin {
+  apply(compiler) {
+    compiler.hooks.thisCompilation.tap('PrecompressAssetsPlugin', compilation => {
+      compilation.hooks.processAssets.tap(
+        { name: 'PrecompressAssetsPlugin', stage: webpack.Compilation.PROCESS_ASSETS_STAGE_TRANSFER },
+        assets => {
+          for (const [name, source] of Object.entries(assets)) {
+            if (!COMPRESSIBLE_ASSETS.test(name)) {
+              continue;
+            }
+            const buffer = source.buffer();
+            if (buffer.length < MIN_SIZE) {
+              continue;
+            }
+            for (const [extension, compress] of ENCODINGS) {
+              const compressed = compress(buffer);
+              if (compressed.length < buffer.length * MAX_RATIO) {
+                compilation.emitAsset(`${name}${extension}`, new webpack.sources.RawSource(compressed));
+              }
+            }
+          }
+        },
+      );
+    });
+  }
+}
+
+module.exports = PrecompressAssetsPlugin;
@@ -9,6 +9,7 @@ const WebpackNotifierPlugin = require('webpack-notifier');
 const CopyWebpackPlugin = require('copy-webpack-plugin');
 
 const environment = require('./environment');
+const PrecompressAssetsPlugin = require('./precompress-assets');
 const proxyConfig = require('./proxy.conf');
 
 module.exports = async (config, options, targetOptions) => {
@@ -84,6 +85,7 @@ module.exports = async (config, options, targetOptions) => {
         // Webpack statistics in temporary folder
         reportFilename: '../../stats.html',
       }),
+      new PrecompressAssetsPlugin(),
     );
   }
 